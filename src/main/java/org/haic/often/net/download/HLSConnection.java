@@ -2,6 +2,8 @@ package org.haic.often.net.download;
 
 import org.haic.often.annotations.NotNull;
 import org.haic.often.function.StringFunction;
+import org.haic.often.net.http.RetryPolicy;
+import org.haic.often.util.ThreadUtil;
 
 import java.io.File;
 import java.net.Proxy;
@@ -150,6 +152,16 @@ public abstract class HLSConnection {
 	 */
 	public abstract HLSConnection thread(int nThread);
 
+	/**
+	 * 设置下载线程是否使用虚拟线程，默认为 {@link ThreadUtil#virtualThreads()}，运行环境不支持时使用普通线程
+	 * <p>
+	 * 线程数仍然限制同时下载的连接数量，使用虚拟线程时可以设置较大的线程数
+	 *
+	 * @param virtual 是否使用虚拟线程
+	 * @return 此连接，用于链接
+	 */
+	public abstract HLSConnection virtualThreads(boolean virtual);
+
 	/**
 	 * 设置将要下载文件的文件名
 	 * <p>
@@ -287,6 +299,14 @@ public abstract class HLSConnection {
 	 */
 	public abstract HLSConnection retryStatusCodes(List<Integer> retryStatusCodes);
 
+	/**
+	 * 设置重试策略，决定重试等待时间、最长重试时间和重试预算，默认使用 {@link RetryPolicy#fixed()}
+	 *
+	 * @param retryPolicy 重试策略
+	 * @return 此连接，用于链接
+	 */
+	public abstract HLSConnection retryPolicy(@NotNull RetryPolicy retryPolicy);
+
 	/**
 	 * 设置写入文件时缓冲区大小,默认大小为8192字节
 	 *
@@ -8,6 +8,7 @@ import org.haic.often.function.StringFunction;
 import org.haic.often.net.URIUtil;
 import org.haic.often.net.http.HttpStatus;
 import org.haic.often.net.http.HttpsUtil;
+import org.haic.often.net.http.RetryPolicy;
 import org.haic.often.net.http.Response;
 import org.haic.often.parser.json.JSONObject;
 import org.haic.often.thread.ConsumerThread;
@@ -24,7 +25,6 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
@@ -173,6 +173,7 @@ public class HLSDownload {
 		private int MILLISECONDS_SLEEP; // 重试等待时间
 		private int MAX_RETRY; // 请求异常重试次数
 		private int MAX_THREADS = 10; // 默认10线程下载
+		private boolean virtualThreads = ThreadUtil.virtualThreads(); // 使用虚拟线程
 		private boolean unlimit;// 请求异常无限重试
 		private boolean failThrow; // 错误异常
 		private boolean rename; // 重命名
@@ -180,6 +181,7 @@ public class HLSDownload {
 		private File session; // 配置信息文件
 		private File DEFAULT_FOLDER = SystemUtil.DEFAULT_DOWNLOAD_FOLDER; // 存储目录
 		private List<Integer> retryStatusCodes = new ArrayList<>();
+		private RetryPolicy retryPolicy = RetryPolicy.fixed(); // 重试策略
 		private StringFunction<String> keyDecrypt = key -> key;
 		private Predicate<String> select = l -> true;
 
@@ -287,6 +289,11 @@ public class HLSDownload {
 			return this;
 		}
 
+		public HLSConnection virtualThreads(boolean virtual) {
+			this.virtualThreads = virtual;
+			return this;
+		}
+
 		public HLSConnection fileName(@NotNull String fileName) {
 			if (!fileName.contains(".")) {
 				throw new HLSDownloadException("文件名必须存在后缀 :" + fileName);
@@ -351,6 +358,11 @@ public class HLSDownload {
 			return this;
 		}
 
+		public HLSConnection retryPolicy(@NotNull RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
 		public HLSConnection bufferSize(int bufferSize) {
 			DEFAULT_BUFFER_SIZE = bufferSize;
 			return this;
@@ -388,7 +400,7 @@ public class HLSDownload {
 
 		private SionResponse execute(@NotNull String method) {
 			initializationStatus(); // 初始化进度
-			var conn = HttpsUtil.newSession().proxy(proxy).headers(headers).cookies(cookies).retry(MAX_RETRY, MILLISECONDS_SLEEP).retry(unlimit).retryStatusCodes(retryStatusCodes).failThrow(failThrow);
+			var conn = HttpsUtil.newSession().proxy(proxy).headers(headers).cookies(cookies).retry(MAX_RETRY, MILLISECONDS_SLEEP).retry(unlimit).retryStatusCodes(retryStatusCodes).retryPolicy(retryPolicy).failThrow(failThrow);
 			File storage;
 			switch (method) {
 				case "BODY" -> {
@@ -524,16 +536,16 @@ public class HLSDownload {
 			Runnable breakPoint = () -> ReadWriteUtil.orgin(session).append(false).write(fileInfo.fluentPut("renew", status).toString());
 			Thread abnormal;
 			Runtime.getRuntime().addShutdownHook(abnormal = new Thread(breakPoint));
-			var listenTask = ThreadUtil.start(listener);
+			var listenTask = ThreadUtil.start(listener, virtualThreads);
 			var statusCodes = new AtomicInteger(HttpStatus.SC_OK);
-			var executor = Executors.newFixedThreadPool(MAX_THREADS); // 限制多线程
+			var executor = ThreadUtil.newBoundedExecutor(MAX_THREADS, virtualThreads); // 限制多线程
 			for (int i = 0; i < links.size(); i++) {
 				var file = new File(folder, i + ".ts");
 				if (file.exists() && !status.containsKey(file)) {
 					site++;
 				} else {
 					executor.execute(new ConsumerThread(i, (index) -> {
-						int statusCode = FULL(links.get(index), status.getOrDefault(file, 0L), MAX_RETRY, file);
+						int statusCode = FULL(links.get(index), status.getOrDefault(file, 0L), file);
 						if (URIUtil.statusIsOK(statusCode)) {
 							status.remove(file);
 							site++;
@@ -599,30 +611,38 @@ public class HLSDownload {
 			status.clear();
 		}
 
-		private int FULL(String url, long complete, int retry, File storage) {
-			var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + complete + "-").cookies(cookies).failThrow(failThrow).execute();
-			int statusCode = piece.statusCode();
-			return URIUtil.statusIsOK(statusCode) ? FULL(url, piece, complete, retry, storage) : unlimit || retry > 0 ? FULL(url, complete, retry - 1, storage) : statusCode;
+		private int FULL(String url, long complete, File storage) {
+			var backoff = retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : MAX_RETRY, MILLISECONDS_SLEEP);
+			while (true) {
+				var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + complete + "-").cookies(cookies).failThrow(failThrow).execute();
+				int statusCode = piece.statusCode();
+				if (URIUtil.statusIsOK(statusCode)) {
+					var length = piece.header("content-length"); // 获取文件大小
+					long fileSize = length == null ? 0 : Long.parseLong(length);
+					long count = FULL(piece, complete, storage);
+					if (fileSize == 0 || count >= fileSize) return HttpStatus.SC_OK;
+					complete += count;
+					statusCode = HttpStatus.SC_REQUEST_TIMEOUT;
+				}
+				int delay = backoff.next(piece);
+				piece.close(); // 释放连接后再等待重试
+				if (delay < 0) return statusCode;
+				ThreadUtil.waitThread(delay);
+			}
 		}
 
-		private int FULL(String url, Response res, long complete, int retry, File storage) {
-			var length = res.header("content-length"); // 获取文件大小
-			long fileSize = length == null ? 0 : Long.parseLong(length);
+		private long FULL(Response res, long complete, File storage) {
+			long count = 0;
 			try (var in = res.bodyStream(); var out = new RandomAccessFile(storage, "rw")) {
 				out.seek(complete);
 				var buffer = new byte[DEFAULT_BUFFER_SIZE];
-				for (int len; (len = in.read(buffer, 0, DEFAULT_BUFFER_SIZE)) != -1; schedule.addAndGet(len), complete += len, status.put(storage, complete)) {
+				for (int len; (len = in.read(buffer, 0, DEFAULT_BUFFER_SIZE)) != -1; schedule.addAndGet(len), count += len, status.put(storage, complete + count)) {
 					out.write(buffer, 0, len);
 				}
-				if (fileSize == 0 || complete >= fileSize) return HttpStatus.SC_OK;
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
-			if (unlimit || retry > 0) {
-				ThreadUtil.waitThread(MILLISECONDS_SLEEP);
-				return FULL(url, complete, retry - 1, storage);
-			}
-			return HttpStatus.SC_REQUEST_TIMEOUT;
+			return count;
 		}
 
 	}
@@ -1,6 +1,8 @@
 package org.haic.often.net.download;
 
 import org.haic.often.annotations.NotNull;
+import org.haic.often.net.http.RetryPolicy;
+import org.haic.often.util.ThreadUtil;
 
 import java.io.File;
 import java.net.Proxy;
@@ -122,6 +124,16 @@ public abstract class SionConnection {
 	 */
 	public abstract SionConnection thread(int nThread);
 
+	/**
+	 * 设置下载线程是否使用虚拟线程，默认为 {@link ThreadUtil#virtualThreads()}，运行环境不支持时使用普通线程
+	 * <p>
+	 * 线程数仍然限制同时下载的连接数量，使用虚拟线程时可以设置较大的线程数
+	 *
+	 * @param virtual 是否使用虚拟线程
+	 * @return 此连接，用于链接
+	 */
+	public abstract SionConnection virtualThreads(boolean virtual);
+
 	/**
 	 * 设置文件大小, 请保证大小正确, 仅在多线程模式并且无法通过请求头获取文件大小时使用
 	 *
@@ -275,6 +287,14 @@ public abstract class SionConnection {
 	 */
 	public abstract SionConnection retryStatusCodes(List<Integer> retryStatusCodes);
 
+	/**
+	 * 设置重试策略，决定重试等待时间、最长重试时间和重试预算，默认使用 {@link RetryPolicy#fixed()}
+	 *
+	 * @param retryPolicy 重试策略
+	 * @return 此连接，用于链接
+	 */
+	public abstract SionConnection retryPolicy(@NotNull RetryPolicy retryPolicy);
+
 	/**
 	 * 设置写入文件时缓冲区大小,默认大小为8192字节
 	 *
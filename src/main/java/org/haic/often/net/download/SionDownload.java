@@ -7,6 +7,7 @@ import org.haic.often.net.MimeType;
 import org.haic.often.net.URIUtil;
 import org.haic.often.net.http.HttpStatus;
 import org.haic.often.net.http.HttpsUtil;
+import org.haic.often.net.http.RetryPolicy;
 import org.haic.often.net.http.Response;
 import org.haic.often.parser.json.JSONObject;
 import org.haic.often.thread.ConsumerThread;
@@ -19,7 +20,6 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -159,6 +159,7 @@ public class SionDownload {
 		private int MILLISECONDS_SLEEP; // 重试等待时间
 		private int MAX_RETRY; // 请求异常重试次数
 		private int MAX_THREADS = 10; // 默认10线程下载
+		private boolean virtualThreads = ThreadUtil.virtualThreads(); // 使用虚拟线程
 		private long PIECE_MAX_SIZE = 1048576; // 默认块大小，1M
 		private boolean valid = true; // MD5效验
 		private boolean unlimit;// 请求异常无限重试
@@ -169,6 +170,7 @@ public class SionDownload {
 		private File session; // 配置信息文件
 		private File DEFAULT_FOLDER = SystemUtil.DEFAULT_DOWNLOAD_FOLDER;  // 存储目录
 		private List<Integer> retryStatusCodes = new ArrayList<>();
+		private RetryPolicy retryPolicy = RetryPolicy.fixed(); // 重试策略
 
 		private Map<String, String> headers = new HashMap<>(); // headers
 		private Map<String, String> cookies = new HashMap<>(); // cookies
@@ -261,6 +263,11 @@ public class SionDownload {
 			return this;
 		}
 
+		public SionConnection virtualThreads(boolean virtual) {
+			this.virtualThreads = virtual;
+			return this;
+		}
+
 		public SionConnection fileSize(long fileSize) {
 			this.fileSize = fileSize;
 			return this;
@@ -332,6 +339,11 @@ public class SionDownload {
 			return this;
 		}
 
+		public SionConnection retryPolicy(@NotNull RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
 		public SionConnection bufferSize(int bufferSize) {
 			DEFAULT_BUFFER_SIZE = bufferSize;
 			return this;
@@ -400,7 +412,7 @@ public class SionDownload {
 					ReadWriteUtil.orgin(session).append(false).write(fileInfo.toString());  // 重置配置文件
 				}
 				case FULL, PIECE, MULTITHREAD, MANDATORY -> {    // 获取文件信息
-					var res = HttpsUtil.connect(url).proxy(proxy).headers(headers).cookies(cookies).retry(MAX_RETRY, MILLISECONDS_SLEEP).retry(unlimit).retryStatusCodes(retryStatusCodes).failThrow(failThrow).execute();
+					var res = HttpsUtil.connect(url).proxy(proxy).headers(headers).cookies(cookies).retry(MAX_RETRY, MILLISECONDS_SLEEP).retry(unlimit).retryStatusCodes(retryStatusCodes).retryPolicy(retryPolicy).failThrow(failThrow).execute();
 					// 获取URL连接状态
 					int statusCode = res.statusCode();
 					if (!URIUtil.statusIsOK(statusCode)) {
@@ -468,10 +480,10 @@ public class SionDownload {
 			Runnable breakPoint = () -> ReadWriteUtil.orgin(session).append(false).write(fileInfo.fluentPut("renew", new JSONObject().fluentPut("completed", MAX_COMPLETED).fluentPut("status", status)).toString());
 			Thread abnormal;
 			Runtime.getRuntime().addShutdownHook(abnormal = new Thread(breakPoint));
-			var listenTask = ThreadUtil.start(listener);
+			var listenTask = ThreadUtil.start(listener, virtualThreads);
 			int statusCode;
 			switch (method) {  // 开始下载
-				case FULL -> statusCode = FULL(MAX_RETRY);
+				case FULL -> statusCode = FULL();
 				case PIECE -> statusCode = MULTITHREAD((int) Math.ceil((double) fileSize / PIECE_MAX_SIZE), PIECE_MAX_SIZE, MAX_THREADS);
 				case MULTITHREAD -> {
 					int PIECE_COUNT = Math.min((int) Math.ceil((double) fileSize / PIECE_MAX_SIZE), MAX_THREADS);
@@ -523,25 +535,30 @@ public class SionDownload {
 		}
 
 		/**
-		 * 全量下载，下载获取文件信息并写入文件
+		 * 全量下载，下载获取文件信息并写入文件，失败时按重试策略从断点处重新请求
 		 *
-		 * @param retry 重试次数
 		 * @return 下载并写入是否成功(状态码)
 		 */
-		private int FULL(int retry) {
-			var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + MAX_COMPLETED + "-").cookies(cookies).failThrow(failThrow).execute();
-			int statusCode = piece.statusCode();
-			return URIUtil.statusIsOK(statusCode) ? FULL(piece, retry) : unlimit || retry > 0 ? FULL(retry - 1) : statusCode;
+		private int FULL() {
+			var backoff = retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : MAX_RETRY, MILLISECONDS_SLEEP);
+			while (true) {
+				var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + MAX_COMPLETED + "-").cookies(cookies).failThrow(failThrow).execute();
+				int statusCode = piece.statusCode();
+				if (URIUtil.statusIsOK(statusCode) && (statusCode = FULL(piece)) == HttpStatus.SC_OK) return statusCode;
+				int delay = backoff.next(piece);
+				piece.close(); // 释放连接后再等待重试
+				if (delay < 0) return statusCode;
+				ThreadUtil.waitThread(delay);
+			}
 		}
 
 		/**
 		 * 全量下载，下载获取文件信息并写入文件
 		 *
-		 * @param res   网页Response对象
-		 * @param retry 重试次数
+		 * @param res 网页Response对象
 		 * @return 下载并写入是否成功(状态码)
 		 */
-		private int FULL(Response res, int retry) {
+		private int FULL(Response res) {
 			try (var in = res.bodyStream(); var out = new RandomAccessFile(storage, "rw")) {
 				out.seek(MAX_COMPLETED);
 				var buffer = new byte[DEFAULT_BUFFER_SIZE];
@@ -552,23 +569,19 @@ public class SionDownload {
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
-			if (unlimit || retry > 0) {
-				ThreadUtil.waitThread(MILLISECONDS_SLEEP);
-				return FULL(retry - 1);
-			}
 			return HttpStatus.SC_REQUEST_TIMEOUT;
 		}
 
 		private int MULTITHREAD(int PIECE_COUNT, long PIECE_SIZE, int MAX_THREADS) {
 			var statusCodes = new AtomicInteger(HttpStatus.SC_OK);
 			var addCompleted = new AtomicBoolean(true);
-			var executor = Executors.newFixedThreadPool(MAX_THREADS); // 下载线程池
+			var executor = ThreadUtil.newBoundedExecutor(MAX_THREADS, virtualThreads); // 下载线程池
 			for (long i = MAX_COMPLETED / PIECE_SIZE; i < PIECE_COUNT; i++) {
 				executor.execute(new ConsumerThread(i, (index) -> { // 执行多线程程
 					long start = index * PIECE_SIZE;
 					long end = (index + 1 == PIECE_COUNT ? fileSize : (index + 1) * PIECE_SIZE) - 1;
 					long flip = status.getOrDefault(start, start);
-					int statusCode = flip >= end ? HttpStatus.SC_PARTIAL_CONTENT : writePiece(start, flip, end, MAX_RETRY);
+					int statusCode = flip >= end ? HttpStatus.SC_PARTIAL_CONTENT : writePiece(start, flip, end);
 					if (addCompleted.get() && end > MAX_COMPLETED) {
 						addCompleted.set(false);
 						long completed;
@@ -589,18 +602,29 @@ public class SionDownload {
 		}
 
 		/**
-		 * 分块下载，下载获取文件区块信息并写入文件
+		 * 分块下载，下载获取文件区块信息并写入文件，失败时按重试策略从断点处重新请求
 		 *
 		 * @param start 块起始位
 		 * @param flip  断点位置,用于修正
 		 * @param end   块结束位
-		 * @param retry 重试次数
 		 * @return 下载并写入是否成功(状态码)
 		 */
-		private int writePiece(long start, long flip, long end, int retry) {
-			var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + flip + "-" + end).cookies(cookies).execute();
-			int statusCode = piece.statusCode();
-			return URIUtil.statusIsOK(statusCode) ? writePiece(start, flip, end, piece, retry) : unlimit || retry > 0 ? writePiece(start, flip, end, retry - 1) : statusCode;
+		private int writePiece(long start, long flip, long end) {
+			var backoff = retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : MAX_RETRY, MILLISECONDS_SLEEP);
+			while (true) {
+				var piece = HttpsUtil.connect(url).timeout(0).proxy(proxy).headers(headers).header("range", "bytes=" + flip + "-" + end).cookies(cookies).execute();
+				int statusCode = piece.statusCode();
+				if (URIUtil.statusIsOK(statusCode)) {
+					long count = writePiece(start, flip, piece);
+					if (end - flip + 1 == count) return HttpStatus.SC_PARTIAL_CONTENT;
+					flip += count;
+					statusCode = HttpStatus.SC_REQUEST_TIMEOUT;
+				}
+				int delay = backoff.next(piece);
+				piece.close(); // 释放连接后再等待重试
+				if (delay < 0) return statusCode;
+				ThreadUtil.waitThread(delay);
+			}
 		}
 
 		/**
@@ -608,12 +632,10 @@ public class SionDownload {
 		 *
 		 * @param start 块起始位
 		 * @param flip  断点位置,用于修正
-		 * @param end   块结束位
 		 * @param piece 块Response对象
-		 * @param retry 重试次数
-		 * @return 下载并写入是否成功(状态码)
+		 * @return 写入的字节数
 		 */
-		private int writePiece(long start, long flip, long end, Response piece, int retry) {
+		private long writePiece(long start, long flip, Response piece) {
 			long count = 0;
 			try (var inputStream = piece.bodyStream(); var out = new RandomAccessFile(storage, "rw")) {
 				out.seek(flip);
@@ -621,15 +643,10 @@ public class SionDownload {
 				for (int len; (len = inputStream.read(buffer)) != -1; count += len, status.put(start, flip + count), schedule.addAndGet(len)) {
 					out.write(buffer, 0, len);
 				}
-				if (end - flip + 1 == count) return HttpStatus.SC_PARTIAL_CONTENT;
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
-			if (unlimit || retry > 0) {
-				ThreadUtil.waitThread(MILLISECONDS_SLEEP);
-				return writePiece(start, flip + count, end, retry - 1);
-			}
-			return HttpStatus.SC_REQUEST_TIMEOUT;
+			return count;
 		}
 
 	}
@@ -432,6 +432,10 @@ public class HtmlUnitUtil {
 			return page.getWebResponse().getContentAsStream();
 		}
 
+		public InputStream decodedBodyStream() throws IOException {
+			return bodyStream(); // HtmlUnit 已解压响应数据
+		}
+
 		protected ByteArrayOutputStream bodyAsByteArray() {
 			if (this.body != null) return this.body;
 			try (InputStream in = bodyStream()) {
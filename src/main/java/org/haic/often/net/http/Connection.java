@@ -3,12 +3,18 @@ package org.haic.often.net.http;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.net.Method;
 import org.haic.often.util.StringUtil;
+import org.haic.often.util.ThreadUtil;
 
 import javax.net.ssl.SSLContext;
 import java.io.InputStream;
 import java.net.Proxy;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Connection 接口是一个方便的 HTTP 客户端和会话对象，用于从 Web 获取内容，并将它们解析为 Documents。
@@ -21,6 +27,9 @@ import java.util.Map;
  */
 public abstract class Connection {
 
+	private static volatile Executor defaultExecutor; // 默认异步执行器,首次使用时创建
+	protected Executor executor; // 当前连接的异步执行器
+
 	/**
 	 * 设置要获取的请求 URL，协议必须是 HTTP 或 HTTPS
 	 *
@@ -47,6 +56,56 @@ public abstract class Connection {
 	 */
 	public abstract Connection sslSocketFactory(SSLContext sslSocket);
 
+	/**
+	 * 设置是否复用连接，默认情况下这是false，每次请求结束后关闭连接
+	 * <p>
+	 * 开启后读取完响应体或关闭响应时连接归还至连接池，不支持的实现将忽略此设置
+	 * <p>
+	 * {@link HttpsUtil} 还需要在首次发送请求之前调用 {@link HttpConnectionPool#enable()} 启用JDK连接缓存
+	 *
+	 * @param keepAlive 如果应该复用连接，则为 true
+	 * @return 此连接，用于链接
+	 */
+	public Connection keepAlive(boolean keepAlive) {
+		return this;
+	}
+
+	/**
+	 * 设置响应缓存，GET 请求优先使用未过期的缓存，过期时发送条件请求，默认不使用缓存
+	 * <p>
+	 * 不支持的实现将忽略此设置
+	 *
+	 * @param cache 响应缓存，为null时不使用缓存
+	 * @return 此连接，用于链接
+	 */
+	public Connection cache(HttpCache cache) {
+		return this;
+	}
+
+	/**
+	 * 设置请求速率和并发限制器，默认使用 {@link HostLimiter#global()}
+	 * <p>
+	 * 不支持的实现将忽略此设置
+	 *
+	 * @param limiter 限制器
+	 * @return 此连接，用于链接
+	 */
+	public Connection limiter(@NotNull HostLimiter limiter) {
+		return this;
+	}
+
+	/**
+	 * 设置共享的 cookie 存储，响应的 Set-Cookie 按域名和路径保存至存储，请求时发送匹配的 cookie，默认不使用
+	 * <p>
+	 * 手动设置的 cookies 仍会发送，不支持的实现将忽略此设置
+	 *
+	 * @param cookieJar cookie 存储
+	 * @return 此连接，用于链接
+	 */
+	public Connection cookieJar(@NotNull CookieJar cookieJar) {
+		return this;
+	}
+
 	/**
 	 * 连接用户代理（ 字符串 用户代理）<br/>
 	 * 设置请求用户代理标头
@@ -414,6 +473,14 @@ public abstract class Connection {
 	 */
 	public abstract Connection retryStatusCodes(List<Integer> retryStatusCodes);
 
+	/**
+	 * 设置重试策略，决定重试等待时间、最长重试时间和重试预算，默认使用 {@link RetryPolicy#fixed()}
+	 *
+	 * @param retryPolicy 重试策略
+	 * @return 此连接，用于链接
+	 */
+	public abstract Connection retryPolicy(@NotNull RetryPolicy retryPolicy);
+
 	/**
 	 * 在状态码不为200+或300+时，抛出执行异常，并获取一些参数，一般用于调试<br/>
 	 * 默认情况下为false
@@ -448,4 +515,133 @@ public abstract class Connection {
 	 */
 	public abstract Response execute();
 
+	/**
+	 * 将请求作为 GET 异步执行
+	 *
+	 * @return 响应结果
+	 */
+	public CompletableFuture<Response> getAsync() {
+		return method(Method.GET).executeAsync();
+	}
+
+	/**
+	 * 将请求作为 POST 异步执行
+	 *
+	 * @return 响应结果
+	 */
+	public CompletableFuture<Response> postAsync() {
+		return method(Method.POST).executeAsync();
+	}
+
+	/**
+	 * 在执行器中运行程序，获取 响应结果
+	 * <p>
+	 * 连接对象不是线程安全的，在返回结果完成之前不应修改此连接，并发请求请为每个请求创建连接
+	 *
+	 * @return 响应结果
+	 */
+	public CompletableFuture<Response> executeAsync() {
+		return CompletableFuture.supplyAsync(this::execute, executor());
+	}
+
+	/**
+	 * 设置当前连接的异步执行器，默认使用 {@link #defaultExecutor(Executor)} 设置的执行器
+	 *
+	 * @param executor 执行器
+	 * @return 此连接，用于链接
+	 */
+	public Connection executor(@NotNull Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	/**
+	 * 获取当前连接的异步执行器
+	 *
+	 * @return 执行器
+	 */
+	protected Executor executor() {
+		if (executor != null) return executor;
+		var result = defaultExecutor;
+		if (result == null) {
+			synchronized (Connection.class) {
+				if ((result = defaultExecutor) == null) defaultExecutor = result = ThreadUtil.newVirtualThreadExecutor();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 设置所有连接默认的异步执行器，默认为虚拟线程执行器（不支持时使用守护线程池）
+	 *
+	 * @param executor 执行器
+	 */
+	public static void defaultExecutor(@NotNull Executor executor) {
+		defaultExecutor = executor;
+	}
+
+	/**
+	 * 异步执行多个请求，同时执行的请求数量不超过指定并发数，结果顺序与连接顺序一致
+	 * <p>
+	 * 每个连接应为独立的连接对象，例: connections.add(HttpsUtil.connect(url))
+	 * <p>
+	 * 单个请求失败不影响其余请求，所有请求结束后，若存在失败的请求，则关闭所有已获取的响应，并以第一个异常结束，其余异常作为被抑制的异常
+	 *
+	 * @param connections 连接列表
+	 * @param concurrency 最大并发数
+	 * @return 响应结果列表
+	 */
+	public static CompletableFuture<List<Response>> executeAll(@NotNull List<? extends Connection> connections, int concurrency) {
+		if (concurrency < 1) throw new IllegalArgumentException("并发数量必须大于0: " + concurrency);
+		var results = new Response[connections.size()];
+		var errors = new Throwable[connections.size()];
+		var next = new AtomicInteger();
+		var workers = new CompletableFuture<?>[Math.min(concurrency, connections.size())];
+		for (int i = 0; i < workers.length; i++) {
+			var worker = new CompletableFuture<Void>();
+			workers[i] = worker;
+			executeNext(connections, results, errors, next, worker);
+		}
+		return CompletableFuture.allOf(workers).thenApply(v -> {
+			Throwable error = null;
+			for (var e : errors) {
+				if (e == null) continue;
+				if (error == null) error = e;
+				else if (error != e) error.addSuppressed(e);
+			}
+			if (error == null) return Arrays.asList(results);
+			for (var res : results) { // 存在失败的请求，关闭已获取的响应
+				if (res != null) res.close();
+			}
+			throw new CompletionException(error);
+		});
+	}
+
+	/**
+	 * 依次执行未开始的请求，无论成功或失败均继续执行，直至所有请求结束后完成 done
+	 * <p>
+	 * 已同步完成的请求在循环中继续，仅在等待未完成的请求时注册回调，避免同步完成时递归导致栈溢出
+	 */
+	private static void executeNext(List<? extends Connection> connections, Response[] results, Throwable[] errors, AtomicInteger next, CompletableFuture<Void> done) {
+		for (int i; (i = next.getAndIncrement()) < connections.size(); ) {
+			CompletableFuture<Response> future;
+			try {
+				future = connections.get(i).executeAsync();
+			} catch (RuntimeException e) { // 请求未能开始
+				future = CompletableFuture.failedFuture(e);
+			}
+			int index = i;
+			var recorded = future.handle((res, e) -> {
+				if (e != null) errors[index] = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				else results[index] = res;
+				return null;
+			});
+			if (!recorded.isDone()) {
+				recorded.thenRun(() -> executeNext(connections, results, errors, next, done));
+				return;
+			}
+		}
+		done.complete(null);
+	}
+
 }
@@ -0,0 +1,288 @@
+package org.haic.often.net.http;
+
+import org.haic.often.annotations.NotNull;
+import org.haic.often.net.URIUtil;
+
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 线程安全的 cookie 存储,按 RFC 6265 匹配域名,路径,secure 和过期时间,多个连接可共享同一个实例
+ * <p>
+ * cookie 按域名存储为不可变数组,写入时复制;每个主机和路径的 cookie 请求头会被缓存,存储未变化且未过期时直接返回,读取时不加锁
+ * <p>
+ * 使用方法: var jar = CookieJar.create(); HttpsUtil.newSession().cookieJar(jar).url(url).get();
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/20 2:05
+ */
+public class CookieJar {
+
+	private static final Cookie[] EMPTY = new Cookie[0];
+	private static final int MAX_HEADERS = 1024; // 请求头缓存数量上限
+
+	private final Map<String, Cookie[]> store = new ConcurrentHashMap<>(); // 域名 -> cookies
+	private final Map<String, Header> headers = new ConcurrentHashMap<>(); // URL(不含查询参数) -> 请求头缓存
+	private final AtomicLong version = new AtomicLong(); // 存储版本,每次修改后递增
+	private final AtomicLong sequence = new AtomicLong(); // 创建顺序
+
+	private CookieJar() {
+	}
+
+	/**
+	 * 创建新的 cookie 存储
+	 *
+	 * @return cookie 存储
+	 */
+	public static CookieJar create() {
+		return new CookieJar();
+	}
+
+	/**
+	 * 保存响应的 Set-Cookie 响应头
+	 *
+	 * @param url        请求URL
+	 * @param setCookies Set-Cookie 响应头的值
+	 */
+	public void save(@NotNull String url, List<String> setCookies) {
+		if (setCookies == null || setCookies.isEmpty()) return;
+		var uri = URIUtil.createURI(url);
+		if (uri == null || uri.getHost() == null) return;
+		for (var setCookie : setCookies) {
+			var cookie = parse(uri, setCookie);
+			if (cookie != null) put(cookie);
+		}
+	}
+
+	/**
+	 * 添加 cookie,作用于指定URL的主机和根路径
+	 *
+	 * @param url   URL
+	 * @param name  cookie 的名称
+	 * @param value cookie 的值
+	 * @return this
+	 */
+	public CookieJar put(@NotNull String url, @NotNull String name, @NotNull String value) {
+		var uri = URIUtil.createURI(url);
+		if (uri == null || uri.getHost() == null) throw new IllegalArgumentException("无效的URL: " + url);
+		put(new Cookie(name, value, uri.getHost().toLowerCase(), "/", true, false, Long.MAX_VALUE, sequence.incrementAndGet()));
+		return this;
+	}
+
+	/**
+	 * 获取发送至指定URL的 cookie 请求头,没有 cookie 时返回空字符串
+	 *
+	 * @param url 请求URL
+	 * @return cookie 请求头的值
+	 */
+	@NotNull
+	public String header(@NotNull String url) {
+		int end = url.length();
+		for (int i = 0; i < end; i++) { // 去除查询参数和锚点作为缓存键,命中缓存时无需解析URL
+			char c = url.charAt(i);
+			if (c == '?' || c == '#') end = i;
+		}
+		var key = url.substring(0, end);
+		long now = System.currentTimeMillis();
+		var cached = headers.get(key);
+		if (cached != null && cached.version == version.get() && now < cached.expires) return cached.value;
+		long current = version.get(); // 先读取版本,计算期间发生修改时缓存将在下次读取时失效
+		var uri = URIUtil.createURI(url);
+		if (uri == null || uri.getHost() == null) return "";
+		var host = uri.getHost().toLowerCase();
+		var path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		var matched = match(host, path, "https".equalsIgnoreCase(uri.getScheme()), now);
+		var value = matched.stream().map(c -> c.name + "=" + c.value).collect(Collectors.joining("; "));
+		if (headers.size() >= MAX_HEADERS) headers.clear();
+		headers.put(key, new Header(value, current, matched.stream().mapToLong(c -> c.expires).min().orElse(Long.MAX_VALUE)));
+		return value;
+	}
+
+	/**
+	 * 获取发送至指定URL的 cookies
+	 *
+	 * @param url 请求URL
+	 * @return 名称映射 -> 值对
+	 */
+	@NotNull
+	public Map<String, String> cookies(@NotNull String url) {
+		var uri = URIUtil.createURI(url);
+		if (uri == null || uri.getHost() == null) return new HashMap<>();
+		var path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+		return match(uri.getHost().toLowerCase(), path, "https".equalsIgnoreCase(uri.getScheme()), System.currentTimeMillis()).stream().collect(Collectors.toMap(c -> c.name, c -> c.value, (e1, e2) -> e1, LinkedHashMap::new));
+	}
+
+	/**
+	 * 删除指定域名下的所有 cookie
+	 *
+	 * @param domain 域名
+	 * @return this
+	 */
+	public CookieJar remove(@NotNull String domain) {
+		if (store.remove(domain.toLowerCase()) != null) version.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * 清除所有 cookie
+	 *
+	 * @return this
+	 */
+	public CookieJar clear() {
+		store.clear();
+		headers.clear();
+		version.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * 移除所有已过期的 cookie
+	 *
+	 * @return this
+	 */
+	public CookieJar evictExpired() {
+		long now = System.currentTimeMillis();
+		var removed = new AtomicBoolean();
+		for (var domain : store.keySet()) {
+			store.computeIfPresent(domain, (k, v) -> {
+				var alive = Arrays.stream(v).filter(c -> c.expires > now).toArray(Cookie[]::new);
+				if (alive.length == v.length) return v;
+				removed.set(true);
+				return alive.length == 0 ? null : alive;
+			});
+		}
+		if (removed.get()) version.incrementAndGet();
+		return this;
+	}
+
+	/**
+	 * 获取存储的 cookie 数量,包括已过期但尚未移除的
+	 *
+	 * @return cookie 数量
+	 */
+	public int size() {
+		return store.values().stream().mapToInt(v -> v.length).sum();
+	}
+
+	private void put(Cookie cookie) {
+		store.compute(cookie.domain, (k, v) -> {
+			v = v == null ? EMPTY : v;
+			var list = new ArrayList<Cookie>(v.length + 1);
+			long now = System.currentTimeMillis();
+			var added = cookie;
+			for (var c : v) { // 替换名称,域名,路径相同的 cookie 并保留其创建顺序,同时移除已过期的
+				if (c.expires <= now) continue;
+				if (c.name.equals(cookie.name) && c.path.equals(cookie.path)) added = cookie.created(c.created);
+				else list.add(c);
+			}
+			if (added.expires > now) list.add(added);
+			return list.isEmpty() ? null : list.toArray(Cookie[]::new);
+		});
+		version.incrementAndGet();
+	}
+
+	private List<Cookie> match(String host, String path, boolean secure, long now) {
+		var result = new ArrayList<Cookie>();
+		boolean ip = URIUtil.isIPAddress(host) || host.startsWith("[");
+		for (var domain = host; domain != null; domain = ip ? null : parent(domain)) { // 依次查找主机及其上级域名
+			for (var c : store.getOrDefault(domain, EMPTY)) {
+				if ((c.hostOnly && !domain.equals(host)) || (c.secure && !secure) || c.expires <= now || !pathMatch(path, c.path)) continue;
+				result.add(c);
+			}
+		}
+		result.sort(Comparator.<Cookie>comparingInt(c -> c.path.length()).reversed().thenComparingLong(c -> c.created));
+		return result;
+	}
+
+	private Cookie parse(URI uri, String setCookie) {
+		if (setCookie == null || setCookie.isBlank() || setCookie.equals("-")) return null;
+		var parts = setCookie.split(";");
+		int index = parts[0].indexOf("=");
+		if (index < 1) return null;
+		var name = parts[0].substring(0, index).strip();
+		var value = parts[0].substring(index + 1).strip();
+		var host = uri.getHost().toLowerCase();
+		String domain = null;
+		String path = null;
+		boolean secure = false;
+		long expires = Long.MAX_VALUE;
+		boolean maxAge = false;
+		for (int i = 1; i < parts.length; i++) {
+			var attr = parts[i];
+			int eq = attr.indexOf("=");
+			var key = (eq == -1 ? attr : attr.substring(0, eq)).strip().toLowerCase();
+			var val = eq == -1 ? "" : attr.substring(eq + 1).strip();
+			switch (key) {
+				case "domain" -> domain = val.startsWith(".") ? val.substring(1).toLowerCase() : val.toLowerCase();
+				case "path" -> path = val.startsWith("/") ? val : null;
+				case "secure" -> secure = true;
+				case "max-age" -> {
+					try {
+						long seconds = Long.parseLong(val);
+						expires = seconds <= 0 ? Long.MIN_VALUE : System.currentTimeMillis() + Math.min(seconds, Long.MAX_VALUE / 2000) * 1000;
+						maxAge = true;
+					} catch (NumberFormatException e) {
+						// 忽略无效属性
+					}
+				}
+				case "expires" -> {
+					try {
+						if (!maxAge) expires = ZonedDateTime.parse(val.replace('-', ' '), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli(); // Max-Age 优先
+					} catch (RuntimeException e) {
+						// 忽略无效属性
+					}
+				}
+				default -> {
+				}
+			}
+		}
+		boolean hostOnly = domain == null || domain.isEmpty();
+		if (hostOnly) domain = host;
+		else if (!domainMatch(host, domain) || (!domain.contains(".") && !domain.equals(host))) return null; // 域名不匹配或为顶级域名
+		return new Cookie(name, value, domain, path == null ? defaultPath(uri.getRawPath()) : path, hostOnly, secure, expires, sequence.incrementAndGet());
+	}
+
+	/**
+	 * 域名匹配,RFC 6265 5.1.3
+	 */
+	private static boolean domainMatch(String host, String domain) {
+		return host.equals(domain) || host.endsWith("." + domain) && !URIUtil.isIPAddress(host);
+	}
+
+	/**
+	 * 路径匹配,RFC 6265 5.1.4
+	 */
+	private static boolean pathMatch(String path, String cookiePath) {
+		return path.equals(cookiePath) || path.startsWith(cookiePath) && (cookiePath.endsWith("/") || path.charAt(cookiePath.length()) == '/');
+	}
+
+	/**
+	 * 默认路径,RFC 6265 5.1.4
+	 */
+	private static String defaultPath(String path) {
+		if (path == null || !path.startsWith("/")) return "/";
+		int index = path.lastIndexOf("/");
+		return index == 0 ? "/" : path.substring(0, index);
+	}
+
+	private static String parent(String domain) {
+		int index = domain.indexOf(".");
+		return index == -1 ? null : domain.substring(index + 1);
+	}
+
+	private record Cookie(String name, String value, String domain, String path, boolean hostOnly, boolean secure, long expires, long created) {
+		private Cookie created(long created) {
+			return new Cookie(name, value, domain, path, hostOnly, secure, expires, created);
+		}
+	}
+
+	private record Header(String value, long version, long expires) {}
+
+}
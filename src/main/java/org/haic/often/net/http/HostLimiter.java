@@ -0,0 +1,260 @@
+package org.haic.often.net.http;
+
+import org.haic.often.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 按主机限制请求速率和并发数量,多个会话共享同一个限制器时共同遵守限制
+ * <p>
+ * 速率使用令牌桶算法,允许短时间内突发指定数量的请求,获取令牌只需一次CAS操作,未达到限制时不会阻塞
+ * <p>
+ * 并发数量限制同时等待响应的请求数量,收到响应头后释放
+ * <p>
+ * 使用方法: HostLimiter.global().rate("api.example.com", 10, 20).concurrency("api.example.com", 4); 或 HttpsUtil.connect(url).limiter(HostLimiter.create().rate(5, 5))
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/20 0:20
+ */
+public class HostLimiter {
+
+	private static final HostLimiter GLOBAL = new HostLimiter();
+	private static final Limits NONE = new Limits(null, null);
+	private static final int MAX_HOSTS = 1024; // 按默认配置创建限制的主机数量上限
+
+	private final Map<String, Limits> hosts = new ConcurrentHashMap<>(); // 主机 -> 限制
+	private final Map<String, Limits> defaults = new ConcurrentHashMap<>(); // 未配置主机使用默认配置创建的限制
+	private volatile Bucket.Spec defaultRate;
+	private volatile int defaultConcurrency;
+
+	private HostLimiter() {
+	}
+
+	/**
+	 * 获取全局限制器,未指定限制器的连接均使用全局限制器,未配置时不做任何限制
+	 *
+	 * @return 全局限制器
+	 */
+	public static HostLimiter global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * 创建新的限制器
+	 *
+	 * @return 限制器
+	 */
+	public static HostLimiter create() {
+		return new HostLimiter();
+	}
+
+	/**
+	 * 设置指定主机的请求速率
+	 *
+	 * @param host             主机名
+	 * @param permitsPerSecond 每秒请求数量
+	 * @param burst            允许突发的请求数量,不小于1
+	 * @return this
+	 */
+	public HostLimiter rate(@NotNull String host, double permitsPerSecond, int burst) {
+		var spec = new Bucket.Spec(permitsPerSecond, burst);
+		hosts.compute(host.toLowerCase(), (k, v) -> new Limits(new Bucket(spec), v == null ? null : v.semaphore));
+		return this;
+	}
+
+	/**
+	 * 设置未单独配置的主机的请求速率,每个主机分别计算
+	 *
+	 * @param permitsPerSecond 每秒请求数量
+	 * @param burst            允许突发的请求数量,不小于1
+	 * @return this
+	 */
+	public HostLimiter rate(double permitsPerSecond, int burst) {
+		defaultRate = new Bucket.Spec(permitsPerSecond, burst);
+		defaults.clear();
+		return this;
+	}
+
+	/**
+	 * 设置指定主机的最大并发请求数量
+	 *
+	 * @param host 主机名
+	 * @param max  最大并发数量
+	 * @return this
+	 */
+	public HostLimiter concurrency(@NotNull String host, int max) {
+		if (max < 1) throw new IllegalArgumentException("并发数量必须大于0: " + max);
+		hosts.compute(host.toLowerCase(), (k, v) -> new Limits(v == null ? null : v.bucket, new Semaphore(max)));
+		return this;
+	}
+
+	/**
+	 * 设置未单独配置的主机的最大并发请求数量,每个主机分别计算
+	 *
+	 * @param max 最大并发数量
+	 * @return this
+	 */
+	public HostLimiter concurrency(int max) {
+		if (max < 1) throw new IllegalArgumentException("并发数量必须大于0: " + max);
+		defaultConcurrency = max;
+		defaults.clear();
+		return this;
+	}
+
+	/**
+	 * 移除指定主机的配置,之后使用默认配置
+	 *
+	 * @param host 主机名
+	 * @return this
+	 */
+	public HostLimiter remove(@NotNull String host) {
+		hosts.remove(host.toLowerCase());
+		return this;
+	}
+
+	/**
+	 * 等待直至允许向指定主机发送请求,请求完成后需要关闭返回的许可
+	 *
+	 * @param host 主机名
+	 * @return 并发许可
+	 * @throws InterruptedException 等待时线程被中断
+	 */
+	public Permit acquire(@NotNull String host) throws InterruptedException {
+		var limits = limits(host);
+		if (limits == NONE) return Permit.NONE;
+		var semaphore = limits.semaphore;
+		if (semaphore != null) semaphore.acquire();
+		try {
+			if (limits.bucket != null) limits.bucket.acquire();
+		} catch (InterruptedException e) {
+			if (semaphore != null) semaphore.release();
+			throw e;
+		}
+		return semaphore == null ? Permit.NONE : new Permit(semaphore);
+	}
+
+	/**
+	 * 尝试获取许可,无需等待时立即返回,否则返回null且不占用令牌
+	 *
+	 * @param host 主机名
+	 * @return 并发许可,需要等待时返回null
+	 */
+	public Permit tryAcquire(@NotNull String host) {
+		var limits = limits(host);
+		if (limits == NONE) return Permit.NONE;
+		var semaphore = limits.semaphore;
+		if (semaphore != null && !semaphore.tryAcquire()) return null;
+		if (limits.bucket != null && !limits.bucket.tryAcquire()) {
+			if (semaphore != null) semaphore.release();
+			return null;
+		}
+		return semaphore == null ? Permit.NONE : new Permit(semaphore);
+	}
+
+	private Limits limits(String host) {
+		if (hosts.isEmpty() && defaultRate == null && defaultConcurrency == 0) return NONE; // 未配置
+		host = host.toLowerCase();
+		var limits = hosts.get(host);
+		if (limits != null) return limits;
+		var rate = defaultRate;
+		int concurrency = defaultConcurrency;
+		if (rate == null && concurrency == 0) return NONE;
+		if ((limits = defaults.get(host)) != null) return limits;
+		if (defaults.size() >= MAX_HOSTS) defaults.values().removeIf(v -> v.isIdle(concurrency)); // 移除空闲的主机,与新建时的状态相同,使用中的主机保留
+		return defaults.computeIfAbsent(host, k -> new Limits(rate == null ? null : new Bucket(rate), concurrency == 0 ? null : new Semaphore(concurrency)));
+	}
+
+	/**
+	 * 并发许可,关闭时释放,重复关闭无效
+	 */
+	public static class Permit implements AutoCloseable {
+
+		private static final Permit NONE = new Permit(null);
+
+		private final Semaphore semaphore;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(Semaphore semaphore) {
+			this.semaphore = semaphore;
+		}
+
+		@Override
+		public void close() {
+			if (semaphore != null && released.compareAndSet(false, true)) semaphore.release();
+		}
+
+	}
+
+	private record Limits(Bucket bucket, Semaphore semaphore) {
+		/**
+		 * 判断是否空闲,令牌桶已满且没有占用的并发许可
+		 */
+		private boolean isIdle(int concurrency) {
+			return (bucket == null || bucket.isFull()) && (semaphore == null || semaphore.availablePermits() >= concurrency);
+		}
+	}
+
+	/**
+	 * 令牌桶,记录下一个令牌的理论发放时间,每次获取令牌时使用CAS将其推后一个间隔
+	 */
+	private static class Bucket {
+
+		private final long interval; // 令牌间隔(纳秒)
+		private final long tolerance; // 允许提前发放的时间,即突发数量
+		private final AtomicLong next; // 下一个令牌的理论发放时间
+
+		private Bucket(Spec spec) {
+			this.interval = Math.max(1, (long) (1_000_000_000L / spec.permitsPerSecond));
+			this.tolerance = interval * (spec.burst - 1);
+			this.next = new AtomicLong(System.nanoTime());
+		}
+
+		private void acquire() throws InterruptedException {
+			long now;
+			long start;
+			while (true) {
+				now = System.nanoTime();
+				long current = next.get();
+				start = current - now > 0 ? current : now;
+				if (next.compareAndSet(current, start + interval)) break;
+			}
+			long deadline = start - tolerance; // 令牌可用时间
+			for (long wait; (wait = deadline - System.nanoTime()) > 0; ) {
+				LockSupport.parkNanos(this, wait);
+				if (Thread.interrupted()) throw new InterruptedException();
+			}
+		}
+
+		/**
+		 * 判断令牌桶是否已满,即下一个令牌的理论发放时间不晚于当前时间
+		 */
+		private boolean isFull() {
+			return next.get() - System.nanoTime() <= 0;
+		}
+
+		private boolean tryAcquire() {
+			while (true) {
+				long now = System.nanoTime();
+				long current = next.get();
+				long start = current - now > 0 ? current : now;
+				if (start - tolerance - now > 0) return false; // 需要等待
+				if (next.compareAndSet(current, start + interval)) return true;
+			}
+		}
+
+		private record Spec(double permitsPerSecond, int burst) {
+			private Spec {
+				if (!(permitsPerSecond > 0)) throw new IllegalArgumentException("请求速率必须大于0: " + permitsPerSecond);
+				if (burst < 1) throw new IllegalArgumentException("突发数量必须大于0: " + burst);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,638 @@
+package org.haic.often.net.http;
+
+import org.haic.often.Judge;
+import org.haic.often.annotations.NotNull;
+import org.haic.often.exception.HttpException;
+import org.haic.often.net.IgnoreSSLSocket;
+import org.haic.often.net.Method;
+import org.haic.often.net.URIUtil;
+import org.haic.often.net.UserAgent;
+import org.haic.often.parser.json.JSONObject;
+import org.haic.often.tuple.Tuple;
+import org.haic.often.tuple.record.ThreeTuple;
+import org.haic.often.util.IOUtil;
+import org.haic.often.util.StringUtil;
+import org.haic.often.util.ThreadUtil;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.*;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * java.net.http.HttpClient 工具类,支持 HTTP/2
+ * <p>
+ * 代理,SSL和连接超时相同的会话共享同一个 HttpClient 实例,服务器支持 HTTP/2 时同一主机的请求在单个连接上多路复用,否则使用 HTTP/1.1 长连接
+ * <p>
+ * 最多缓存 {@value #MAX_CLIENTS} 个 HttpClient 实例,超出时移除最久未使用的,被移除的实例在请求结束且不再被引用后由JDK回收其线程和连接
+ * <p>
+ * HttpClient 不支持 socks 代理;JDK默认禁止 https 代理隧道使用 Basic 认证,带用户名密码的代理访问 https 地址时将抛出异常,
+ * 可设置系统属性 jdk.http.auth.tunneling.disabledSchemes="" 解除限制,或使用 {@link HttpsUtil}
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 23:05
+ */
+public class Http2Util {
+
+	private static final SSLContext IGNORE_SSL_CONTEXT = IgnoreSSLSocket.ignoreSSLContext();
+	private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade"); // 由 HttpClient 管理的请求头
+	private static final int MAX_CLIENTS = 16; // 缓存的 HttpClient 数量上限
+	private static final Map<ClientKey, HttpClient> CLIENTS = new LinkedHashMap<>(16, 0.75f, true) { // 按访问顺序淘汰
+		protected boolean removeEldestEntry(Map.Entry<ClientKey, HttpClient> eldest) {
+			return size() > MAX_CLIENTS;
+		}
+	};
+
+	private Http2Util() {
+	}
+
+	/**
+	 * 公共静态连接连接（ 字符串 网址）<br/> 使用定义的请求 URL 创建一个新的Connection （会话），用于获取和解析 HTML 页面
+	 *
+	 * @param url 要连接的 URL
+	 * @return 此连接，用于链接
+	 */
+	public static Connection connect(@NotNull String url) {
+		return new HttpConnection(url);
+	}
+
+	/**
+	 * 公共静态连接newSession ()
+	 * <p>
+	 * 创建一个新Connection以用作会话。将为会话维护连接设置（用户代理、超时、URL 等）和 cookie
+	 *
+	 * @return 此连接，用于链接
+	 */
+	public static Connection newSession() {
+		return new HttpConnection("");
+	}
+
+	/**
+	 * 获取共享的 HttpClient 实例,不存在时创建
+	 *
+	 * @param key 客户端配置
+	 * @return HttpClient 实例
+	 */
+	private static HttpClient client(@NotNull ClientKey key) {
+		synchronized (CLIENTS) {
+			return CLIENTS.computeIfAbsent(key, Http2Util::newClient);
+		}
+	}
+
+	/**
+	 * 创建 HttpClient 实例
+	 *
+	 * @param k 客户端配置
+	 * @return HttpClient 实例
+	 */
+	private static HttpClient newClient(@NotNull ClientKey k) {
+		var builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).followRedirects(HttpClient.Redirect.NEVER).sslContext(k.sslContext()).connectTimeout(Duration.ofMillis(k.connectTimeout()));
+		if (k.proxy().type() == Proxy.Type.HTTP) builder.proxy(ProxySelector.of((InetSocketAddress) k.proxy().address()));
+		if (!Judge.isEmpty(k.proxyUser()) && !Judge.isEmpty(k.proxyPwd())) {
+			builder.authenticator(new Authenticator() {
+				protected PasswordAuthentication getPasswordAuthentication() {
+					return getRequestorType() == RequestorType.PROXY ? new PasswordAuthentication(k.proxyUser(), k.proxyPwd().toCharArray()) : null;
+				}
+			});
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 判断JDK是否禁止 https 代理隧道使用 Basic 认证,未设置系统属性时JDK默认禁止
+	 *
+	 * @return 是否禁止
+	 */
+	private static boolean tunnelingBasicDisabled() {
+		var schemes = System.getProperty("jdk.http.auth.tunneling.disabledSchemes");
+		return schemes == null || Arrays.stream(schemes.split(",")).anyMatch(scheme -> scheme.strip().equalsIgnoreCase("basic"));
+	}
+
+	/**
+	 * 客户端配置,相同配置共享同一个 HttpClient 实例
+	 *
+	 * @param proxy          代理
+	 * @param proxyUser      代理用户名
+	 * @param proxyPwd       代理密码
+	 * @param sslContext     SSL上下文
+	 * @param connectTimeout 连接超时时间
+	 */
+	private record ClientKey(Proxy proxy, String proxyUser, String proxyPwd, SSLContext sslContext, int connectTimeout) {}
+
+	private static class HttpConnection extends Connection {
+
+		private String url; // URL
+		private String auth; // 身份识别标识
+		private String params = ""; // 表格请求参数
+		private int retry; // 请求异常重试次数
+		private int MILLISECONDS_SLEEP; // 重试等待时间
+		private int timeout = 10000; // 超时时间
+		private boolean unlimit;// 请求异常无限重试
+		private boolean failThrow; // 错误异常
+		private boolean followRedirects = true; // 重定向
+		private Proxy proxy = Proxy.NO_PROXY; // 代理
+		private String proxyUser;
+		private String proxyPwd;
+		private Method method = Method.GET;
+		private Map<String, String> headers = new HashMap<>(); // 请求头
+		private Map<String, String> cookies = new HashMap<>(); // cookies
+		private List<Integer> retryStatusCodes = new ArrayList<>();
+		private RetryPolicy retryPolicy = RetryPolicy.fixed(); // 重试策略
+		private ThreeTuple<String, String, InputStream> file;
+		private SSLContext sslContext = IGNORE_SSL_CONTEXT;
+		private HostLimiter limiter = HostLimiter.global(); // 请求速率和并发限制
+		private CookieJar cookieJar; // 共享 cookie 存储
+
+		private HttpConnection(@NotNull String url) {
+			initialization(url);
+		}
+
+		private void initialization(@NotNull String url) {
+			header("accept", "text/html, application/json, application/xhtml+xml;q=0.9, */*;q=0.8");
+			header("accept-language", "zh-CN,zh;q=0.9,en;q=0.8,en-GB;q=0.7,en-US;q=0.6");
+			header("accept-encoding", "gzip, deflate, br"); // 允许压缩gzip,br-Brotli
+			header("user-agent", UserAgent.chrome()).url(url);// 设置随机请求头;
+		}
+
+		public Connection url(@NotNull String url) {
+			if (!(url = url.strip()).isEmpty() && !url.startsWith("http")) {
+				throw new HttpException("Only http & https protocols supported : " + url);
+			}
+			if ((url = url.contains("#") ? url.substring(0, url.indexOf("#")) : url).contains("?")) {
+				if (url.endsWith("?")) {
+					url = url.substring(0, url.length() - 1);
+				} else {
+					int index = url.indexOf("?");
+					url = url.substring(0, index + 1) + StringUtil.lines(url.substring(index + 1), "&").map(key -> {
+						int keyIndex = key.indexOf("=");
+						return key.substring(0, keyIndex + 1) + URIUtil.encodeValue(key.substring(keyIndex + 1));
+					}).collect(Collectors.joining("&"));
+				}
+			}
+			this.url = url;
+			params = "";
+			return this;
+		}
+
+		public Connection newRequest() {
+			params = "";
+			file = null;
+			headers = new HashMap<>();
+			method = Method.GET;
+			initialization("");
+			return Judge.isEmpty(auth) ? this : auth(auth);
+		}
+
+		public Connection sslSocketFactory(SSLContext sslSocket) {
+			sslContext = sslSocket;
+			return this;
+		}
+
+		public Connection limiter(@NotNull HostLimiter limiter) {
+			this.limiter = limiter;
+			return this;
+		}
+
+		public Connection cookieJar(@NotNull CookieJar cookieJar) {
+			this.cookieJar = cookieJar;
+			return this;
+		}
+
+		public Connection userAgent(@NotNull String userAgent) {
+			return header("user-agent", userAgent);
+		}
+
+		public Connection isPhone(boolean isPhone) {
+			return isPhone ? userAgent(UserAgent.chromeAsPhone()) : userAgent(UserAgent.chrome());
+		}
+
+		public Connection followRedirects(boolean followRedirects) {
+			this.followRedirects = followRedirects;
+			return this;
+		}
+
+		public Connection referrer(@NotNull String referrer) {
+			return header("referer", referrer);
+		}
+
+		public Connection auth(@NotNull String auth) {
+			return header("authorization", (this.auth = auth.contains(" ") ? auth : "Bearer " + auth));
+		}
+
+		public Connection timeout(int millis) {
+			this.timeout = millis;
+			return this;
+		}
+
+		public Connection contentType(@NotNull String type) {
+			return header("content-type", type);
+		}
+
+		public Connection header(@NotNull String name, @NotNull String value) {
+			this.headers.put(name, value);
+			return this;
+		}
+
+		public Connection headers(@NotNull Map<String, String> headers) {
+			this.headers.putAll(headers);
+			return this;
+		}
+
+		public Connection setHeaders(@NotNull Map<String, String> headers) {
+			this.headers = new HashMap<>();
+			return headers(headers);
+		}
+
+		public Connection removeHeader(@NotNull String key) {
+			this.headers.remove(key);
+			return this;
+		}
+
+		public Connection cookie(@NotNull String name, @NotNull String value) {
+			cookies.put(name, value);
+			return this;
+		}
+
+		public Connection cookies(@NotNull Map<String, String> cookies) {
+			cookies.entrySet().removeIf(entry -> entry.getValue() == null);
+			this.cookies.putAll(cookies);
+			return this;
+		}
+
+		public Connection setCookies(@NotNull Map<String, String> cookies) {
+			this.cookies = new HashMap<>();
+			return cookies(cookies);
+		}
+
+		public Connection removeCookie(@NotNull String name) {
+			this.cookies.remove(name);
+			return this;
+		}
+
+		public Map<String, String> cookieStore() {
+			return cookies;
+		}
+
+		public Connection data(@NotNull String key, @NotNull String value) {
+			params += (Judge.isEmpty(params) ? "" : "&") + key + "=" + URIUtil.encodeValue(value);
+			return this;
+		}
+
+		public Connection data(@NotNull Map<String, String> params) {
+			this.params = params.entrySet().stream().filter(l -> l.getValue() != null).map(l -> l.getKey() + "=" + URIUtil.encodeValue(l.getValue())).collect(Collectors.joining("&"));
+			return this;
+		}
+
+		public Connection data(@NotNull String key, @NotNull String name, @NotNull InputStream in) {
+			var boundary = UUID.randomUUID().toString();
+			var head = "--" + boundary + "\r\n" + "content-disposition: form-data; name=\"" + key + "\"; filename=\"" + name + "\"\r\n" + "content-type: application/octet-stream\r\n\r\n";
+			file = Tuple.of(boundary, head, in);
+			return contentType("multipart/form-data; boundary=" + boundary);
+		}
+
+		public Connection requestBody(@NotNull Object body) {
+			if (body instanceof JSONObject json) {
+				this.params = json.toJSONString();
+				return contentType("application/json;charset=UTF-8");
+			}
+			return requestBody(String.valueOf(body));
+		}
+
+		public Connection requestBody(@NotNull String body) {
+			this.params = body;
+			return StringUtil.isJson(body) ? contentType("application/json;charset=UTF-8") : contentType("application/x-www-form-urlencoded;charset=UTF-8");
+		}
+
+		public Connection socks(@NotNull String host, int port) {
+			throw new HttpException("HttpClient 不支持 socks 代理");
+		}
+
+		public Connection socks(@NotNull String host, int port, @NotNull String user, @NotNull String password) {
+			throw new HttpException("HttpClient 不支持 socks 代理");
+		}
+
+		public Connection proxy(@NotNull String host, int port) {
+			return proxy(new Proxy(Proxy.Type.HTTP, new InetSocketAddress(host, port)));
+		}
+
+		public Connection proxy(@NotNull String host, int port, @NotNull String user, @NotNull String password) {
+			this.proxyUser = user;
+			this.proxyPwd = password;
+			return proxy(host, port);
+		}
+
+		public Connection proxy(@NotNull Proxy proxy) {
+			if (proxy.type() == Proxy.Type.SOCKS) throw new HttpException("HttpClient 不支持 socks 代理");
+			this.proxy = proxy;
+			return this;
+		}
+
+		public Connection method(@NotNull Method method) {
+			this.method = method;
+			return this;
+		}
+
+		public Connection retry(int retry) {
+			this.retry = retry;
+			return this;
+		}
+
+		public Connection retry(int retry, int millis) {
+			this.retry = retry;
+			this.MILLISECONDS_SLEEP = millis;
+			return this;
+		}
+
+		public Connection retry(boolean unlimit) {
+			this.unlimit = unlimit;
+			return this;
+		}
+
+		public Connection retry(boolean unlimit, int millis) {
+			this.unlimit = unlimit;
+			this.MILLISECONDS_SLEEP = millis;
+			return this;
+		}
+
+		public Connection retryStatusCodes(int... statusCode) {
+			retryStatusCodes = Arrays.stream(statusCode).boxed().toList();
+			return this;
+		}
+
+		public Connection retryStatusCodes(List<Integer> retryStatusCodes) {
+			this.retryStatusCodes = retryStatusCodes;
+			return this;
+		}
+
+		public Connection retryPolicy(@NotNull RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
+		public Connection failThrow(boolean exit) {
+			failThrow = exit;
+			return this;
+		}
+
+		@NotNull
+		public Response execute() {
+			var backoff = retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : retry, MILLISECONDS_SLEEP);
+			var response = executeProgram(url, method, params).join();
+			int statusCode = response.statusCode();
+			for (int delay; (URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (delay = backoff.next(response)) >= 0; ) {
+				response.close();
+				ThreadUtil.waitThread(delay); // 程序等待
+				response = executeProgram(url, method, params).join();
+				statusCode = response.statusCode();
+			}
+			if (failThrow && !URIUtil.statusIsNormal(statusCode)) {
+				throw new HttpException("连接URL失败，状态码: " + statusCode + " URL: " + url);
+			}
+			return response;
+		}
+
+		/**
+		 * 使用 HttpClient 异步发送请求,等待响应和重试期间不占用线程,结果在执行器中完成
+		 *
+		 * @return 响应结果
+		 */
+		public CompletableFuture<Response> executeAsync() {
+			var url = this.url;
+			CompletableFuture<Response> future;
+			try {
+				future = executeAsync(url, method, params, retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : retry, MILLISECONDS_SLEEP));
+			} catch (RuntimeException e) {
+				future = CompletableFuture.failedFuture(e);
+			}
+			return future.thenApplyAsync(response -> {
+				if (failThrow && !URIUtil.statusIsNormal(response.statusCode())) {
+					throw new HttpException("连接URL失败，状态码: " + response.statusCode() + " URL: " + url);
+				}
+				return response;
+			}, executor());
+		}
+
+		private CompletableFuture<Response> executeAsync(@NotNull String url, @NotNull Method method, @NotNull String params, RetryPolicy.Backoff backoff) {
+			return executeProgram(url, method, params).thenCompose(response -> {
+				int statusCode = response.statusCode();
+				int delay;
+				if ((URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (delay = backoff.next(response)) >= 0) {
+					response.close();
+					var delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS); // 程序等待
+					return CompletableFuture.supplyAsync(() -> executeAsync(url, method, params, backoff), delayed).thenCompose(f -> f);
+				}
+				return CompletableFuture.completedFuture(response);
+			});
+		}
+
+		/**
+		 * 主程序,异步发送请求,重定向在响应头到达后继续发送
+		 *
+		 * @param requestUrl 请求URL
+		 * @param method     请求方法
+		 * @param params     请求参数
+		 * @return 响应结果
+		 */
+		@NotNull
+		private CompletableFuture<Response> executeProgram(@NotNull String requestUrl, @NotNull Method method, @NotNull String params) {
+			HttpRequest request;
+			try {
+				request = request(requestUrl, method, params);
+			} catch (IOException e) {
+				return CompletableFuture.completedFuture(new HttpResponse(null));
+			}
+			var client = client(new ClientKey(proxy, proxyUser, proxyPwd, sslContext, timeout < 10000 && timeout != 0 ? timeout : 10000));
+			var host = request.uri().getHost();
+			var permit = limiter.tryAcquire(host);
+			var acquired = permit != null ? CompletableFuture.completedFuture(permit) : CompletableFuture.supplyAsync(() -> { // 需要等待时在执行器中等待,不占用 HttpClient 和公共线程池的线程
+				try {
+					return limiter.acquire(host);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(e);
+				}
+			}, executor());
+			return acquired.thenCompose(p -> client.sendAsync(request, BodyHandlers.ofInputStream()).handle((res, e) -> {
+				p.close(); // 已收到响应头或请求失败
+				return res;
+			})).exceptionally(e -> null).thenCompose(res -> {
+				if (res == null) return CompletableFuture.completedFuture(new HttpResponse(null)); // 连接失败或超时
+				// 维护cookies
+				var cookies = res.headers().allValues("set-cookie");
+				if (cookieJar != null) cookieJar.save(res.uri().toString(), cookies);
+				else cookies(cookies.stream().filter(l -> !l.equals("-") && !l.isBlank() && l.contains("=")).collect(Collectors.toMap(l -> l.substring(0, l.indexOf("=")), l -> l.substring(l.indexOf("=") + 1, l.contains(";") ? l.indexOf(";") : l.length()), (e1, e2) -> e2)));
+				var response = new HttpResponse(res);
+				response.cookies = cookieJar == null ? this.cookies : responseCookies(res.uri().toString());
+
+				String redirectUrl; // 修复重定向
+				if (followRedirects && URIUtil.statusIsNormal(response.statusCode()) && !Judge.isEmpty(redirectUrl = response.header("location"))) {
+					response.close();
+					return executeProgram(URIUtil.toAbsoluteUrl(requestUrl, redirectUrl), Method.GET, "");  // 跳转修正为GET
+				}
+				return CompletableFuture.completedFuture(response);
+			});
+		}
+
+		/**
+		 * 获取请求的 cookie 请求头,手动设置的 cookies 在前,cookie 存储中匹配的在后
+		 *
+		 * @param url 请求URL
+		 * @return cookie 请求头的值
+		 */
+		private String cookie(@NotNull String url) {
+			var cookie = cookies.entrySet().stream().map(l -> l.getKey() + "=" + l.getValue()).collect(Collectors.joining("; "));
+			if (cookieJar == null) return cookie;
+			var stored = cookieJar.header(url);
+			return cookie.isEmpty() ? stored : stored.isEmpty() ? cookie : cookie + "; " + stored;
+		}
+
+		/**
+		 * 获取响应的 cookies,包括 cookie 存储中匹配的和手动设置的
+		 *
+		 * @param url 请求URL
+		 * @return cookies
+		 */
+		private Map<String, String> responseCookies(@NotNull String url) {
+			var cookies = cookieJar.cookies(url);
+			cookies.putAll(this.cookies);
+			return cookies;
+		}
+
+		/**
+		 * 创建HttpRequest实例
+		 *
+		 * @param requestUrl 请求URL
+		 * @param method     请求方法
+		 * @param params     请求参数
+		 * @return HttpRequest实例
+		 * @throws IOException 如果发生 I/O 异常
+		 */
+		private HttpRequest request(@NotNull String requestUrl, @NotNull Method method, @NotNull String params) throws IOException {
+			var body = BodyPublishers.noBody();
+			switch (method) {
+				case GET -> requestUrl = Judge.isEmpty(params) ? requestUrl : requestUrl + (requestUrl.contains("?") ? "&" : "?") + params;
+				case POST, PUT, PATCH -> body = body(params);
+				case OPTIONS, DELETE, HEAD, TRACE -> {}
+				default -> throw new HttpException("Unknown mode");
+			}
+			var uri = URIUtil.createURI(requestUrl);
+			if (uri == null) throw new IOException("URL格式不正确: " + requestUrl);
+			if ("https".equalsIgnoreCase(uri.getScheme()) && proxy.type() == Proxy.Type.HTTP && !Judge.isEmpty(proxyUser) && !Judge.isEmpty(proxyPwd) && tunnelingBasicDisabled()) {
+				throw new HttpException("JDK默认禁止 https 代理隧道使用 Basic 认证,请设置系统属性 jdk.http.auth.tunneling.disabledSchemes=\"\" 或使用 HttpsUtil");
+			}
+			var builder = HttpRequest.newBuilder(uri).method(method.name(), body);
+			if (timeout != 0) builder.timeout(Duration.ofMillis(timeout)); // 等待响应头的超时时间
+			var cookie = cookie(requestUrl);
+			if (!cookie.isEmpty()) builder.header("cookie", cookie);
+			for (var entry : headers.entrySet()) { // 设置通用的请求属性
+				if (!RESTRICTED_HEADERS.contains(entry.getKey().toLowerCase())) builder.setHeader(entry.getKey(), entry.getValue());
+			}
+			return builder.build();
+		}
+
+		/**
+		 * 获取请求体
+		 *
+		 * @param params 请求参数
+		 * @return 请求体
+		 */
+		private BodyPublisher body(@NotNull String params) {
+			if (file == null) return BodyPublishers.ofString(params);
+			var boundary = file.first();
+			var sb = new StringBuilder();
+			var data = Judge.isEmpty(params) ? Map.<String, String>of() : StringUtil.toMap(params, "&");
+			for (var b : data.entrySet()) {
+				var value = b.getValue();
+				if (!Judge.isEmpty(value)) {
+					sb.append("--").append(boundary).append("\r\n");
+					sb.append("content-disposition: form-data; name=\"").append(b.getKey()).append("\"\r\n\r\n");
+					sb.append(value).append("\r\n");
+				}
+			}
+			var in = file.third();
+			var body = BodyPublishers.concat(BodyPublishers.ofString(sb + file.second()), BodyPublishers.ofInputStream(() -> in), BodyPublishers.ofString("\r\n--" + boundary + "--\r\n"));
+			file = null; // 删除流,防止复用
+			removeHeader("content-type");
+			return body;
+		}
+
+	}
+
+	/**
+	 * 响应接口
+	 *
+	 * @author haicdust
+	 * @version 1.0
+	 * @since 2026/10/19 23:05
+	 */
+	private static class HttpResponse extends Response {
+
+		private final java.net.http.HttpResponse<InputStream> res;
+
+		private HttpResponse(java.net.http.HttpResponse<InputStream> res) {
+			this.res = res;
+			this.cookies = new HashMap<>();
+		}
+
+		public String url() {
+			return res == null ? null : res.uri().toString();
+		}
+
+		public int statusCode() {
+			return res == null || res.statusCode() == 0 ? HttpStatus.SC_REQUEST_TIMEOUT : res.statusCode();
+		}
+
+		public String statusMessage() {
+			return null; // HTTP/2 不存在状态消息
+		}
+
+		public String contentType() {
+			return res == null ? null : res.headers().firstValue("content-type").orElse(null);
+		}
+
+		public Map<String, String> headers() {
+			return headers == null ? headers = new ResponseHeaders(res == null ? null : res.headers().map(), true) : headers;
+		}
+
+		public Map<String, String> cookies() {
+			return cookies;
+		}
+
+		public InputStream bodyStream() throws IOException {
+			if (res == null) throw new IOException("连接失败,不存在响应数据");
+			return res.body();
+		}
+
+		protected ByteArrayOutputStream bodyAsByteArray() {
+			if (this.body != null) return this.body;
+			try (var in = decodedBodyStream()) {
+				return this.body = IOUtil.stream(in).toByteArrayOutputStream();
+			} catch (Exception e) {
+				return null;
+			}
+		}
+
+		public void close() {
+			try {
+				if (res != null) res.body().close(); // 关闭流,HTTP/2 下仅取消当前流,连接继续复用
+			} catch (Exception e) {
+				//
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,520 @@
+package org.haic.often.net.http;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.haic.often.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP响应缓存,缓存 GET 请求的 200 响应,按照 Cache-Control 和 Expires 判断是否过期,过期后携带 ETag 和 Last-Modified 发送条件请求,服务器返回 304 时使用缓存数据
+ * <p>
+ * 缓存以 请求方法+URL 为键,响应包含 Vary 时还需要对应的请求头相同,内存中按照最近使用顺序保留,总大小超过限制时移除最久未使用的数据,指定目录时同时写入磁盘(不限制大小)
+ * <p>
+ * 缓存数据为解压后的响应体,不包含 set-cookie;Content-Length 超过内存缓存大小,或未指定 Content-Length 且响应体尚未读取的响应不会被缓存,避免读取过大的响应体
+ * <p>
+ * 使用方法: var cache = HttpCache.of(64 << 20, Path.of("cache")); HttpsUtil.connect(url).cache(cache).execute();
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 23:50
+ */
+public class HttpCache {
+
+	private static final int MAGIC = 0x48434332; // 磁盘文件标识 HCC2
+	private static final Set<String> SKIP_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding", "set-cookie", "connection", "keep-alive");
+
+	private final long maxBytes;
+	private final Path directory;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // 按照访问顺序排列
+	private long bytes;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder revalidated = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	private HttpCache(long maxBytes, Path directory) {
+		if (maxBytes < 1) throw new IllegalArgumentException("缓存大小必须大于0: " + maxBytes);
+		this.maxBytes = maxBytes;
+		this.directory = directory;
+	}
+
+	/**
+	 * 创建内存缓存
+	 *
+	 * @param maxBytes 内存中缓存的最大字节数
+	 * @return 缓存
+	 */
+	public static HttpCache of(long maxBytes) {
+		return new HttpCache(maxBytes, null);
+	}
+
+	/**
+	 * 创建内存和磁盘缓存,内存中不存在时从磁盘读取
+	 *
+	 * @param maxBytes  内存中缓存的最大字节数
+	 * @param directory 磁盘缓存目录,不存在时创建
+	 * @return 缓存
+	 */
+	public static HttpCache of(long maxBytes, @NotNull Path directory) {
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new HttpCache(maxBytes, directory);
+	}
+
+	/**
+	 * 移除指定URL的缓存,非安全方法(POST, PUT, DELETE 等)请求成功后将自动调用
+	 *
+	 * @param url URL
+	 */
+	public void remove(@NotNull String url) {
+		remove0("GET " + url);
+	}
+
+	/**
+	 * 清空内存和磁盘中的缓存
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			bytes = 0;
+		}
+		if (directory == null) return;
+		try (var files = Files.list(directory)) {
+			for (var file : (Iterable<Path>) files::iterator) {
+				if (file.getFileName().toString().endsWith(".cache")) Files.deleteIfExists(file);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 获取内存中缓存的数量
+	 *
+	 * @return 缓存数量
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * 获取内存中缓存的字节数
+	 *
+	 * @return 字节数
+	 */
+	public long bytes() {
+		synchronized (entries) {
+			return bytes;
+		}
+	}
+
+	/**
+	 * 获取命中统计
+	 *
+	 * @return 统计信息
+	 */
+	public Stats stats() {
+		return new Stats(hits.sum(), revalidated.sum(), misses.sum());
+	}
+
+	/**
+	 * 查找缓存
+	 *
+	 * @param url     请求URL
+	 * @param headers 请求头
+	 * @return 缓存数据,不存在或 Vary 请求头不同时返回null
+	 */
+	Entry lookup(@NotNull String url, @NotNull Map<String, String> headers) {
+		var key = "GET " + url;
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry == null && (entry = read(key)) != null) put(key, entry);
+		if (entry != null && !entry.matches(headers)) entry = null;
+		if (entry == null) misses.increment();
+		return entry;
+	}
+
+	/**
+	 * 判断缓存是否可以不经验证直接使用
+	 *
+	 * @param entry   缓存数据
+	 * @param headers 请求头
+	 * @return 判断结果
+	 */
+	boolean isFresh(@NotNull Entry entry, @NotNull Map<String, String> headers) {
+		var control = directives(header(headers, "cache-control"));
+		if (control.containsKey("no-cache") || control.containsKey("no-store") || "0".equals(control.get("max-age"))) return false;
+		return System.currentTimeMillis() < entry.expires;
+	}
+
+	/**
+	 * 获取缓存响应
+	 *
+	 * @param entry   缓存数据
+	 * @param cookies 会话cookies
+	 * @param hit     是否为未发送请求的命中,否则为 304 验证后使用
+	 * @return 响应
+	 */
+	Response response(@NotNull Entry entry, @NotNull Map<String, String> cookies, boolean hit) {
+		(hit ? hits : revalidated).increment();
+		return new CachedResponse(entry, cookies);
+	}
+
+	/**
+	 * 服务器返回 304 时更新缓存的响应头和过期时间
+	 *
+	 * @param url      请求URL
+	 * @param entry    缓存数据
+	 * @param response 304 响应
+	 * @return 更新后的缓存数据
+	 */
+	Entry refresh(@NotNull String url, @NotNull Entry entry, @NotNull Response response) {
+		var headers = new HashMap<>(entry.headers);
+		headers.putAll(storable(response.headers()));
+		var updated = new Entry(entry.url, entry.vary, headers, expires(headers), entry.body);
+		var key = "GET " + url;
+		put(key, updated);
+		write(key, updated);
+		return updated;
+	}
+
+	/**
+	 * 缓存响应,响应体大小未超过限制时将被完整读取
+	 *
+	 * @param url      请求URL
+	 * @param headers  请求头
+	 * @param response 200 响应
+	 */
+	void store(@NotNull String url, @NotNull Map<String, String> headers, @NotNull Response response) {
+		var control = directives(response.header("cache-control"));
+		if (control.containsKey("no-store") || directives(header(headers, "cache-control")).containsKey("no-store")) return;
+		var resHeaders = storable(response.headers());
+		var vary = new TreeMap<String, String>();
+		var varyHeader = resHeaders.get("vary");
+		if (varyHeader != null) {
+			for (var name : varyHeader.split(",")) {
+				if ((name = name.strip().toLowerCase()).equals("*")) return; // 每次请求均需要验证
+				if (!name.isEmpty()) vary.put(name, Objects.requireNonNullElse(header(headers, name), ""));
+			}
+		}
+		long expires = expires(resHeaders);
+		if (expires <= System.currentTimeMillis() && !resHeaders.containsKey("etag") && !resHeaders.containsKey("last-modified")) return; // 无法复用
+		if (response.body == null && !(contentLength(response) <= maxBytes)) return; // 读取前检查大小,未知长度时不读取
+		var body = response.bodyAsBytes();
+		if (body == null || body.length > maxBytes) return;
+		var key = "GET " + url;
+		var entry = new Entry(response.url(), vary, resHeaders, expires, body);
+		put(key, entry);
+		write(key, entry);
+	}
+
+	/**
+	 * 获取响应头 Content-Length,不存在或格式不正确时返回 Long.MAX_VALUE
+	 */
+	private static long contentLength(Response response) {
+		try {
+			var value = response.header("content-length");
+			return value == null ? Long.MAX_VALUE : Long.parseLong(value.strip());
+		} catch (NumberFormatException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private void put(String key, Entry entry) {
+		synchronized (entries) {
+			var old = entries.put(key, entry);
+			if (old != null) bytes -= old.size();
+			bytes += entry.size();
+			for (var it = entries.values().iterator(); bytes > maxBytes && it.hasNext(); ) {
+				bytes -= it.next().size();
+				it.remove();
+			}
+		}
+	}
+
+	private void remove0(String key) {
+		synchronized (entries) {
+			var old = entries.remove(key);
+			if (old != null) bytes -= old.size();
+		}
+		if (directory == null) return;
+		try {
+			Files.deleteIfExists(file(key));
+		} catch (IOException e) {
+			//
+		}
+	}
+
+	private Path file(String key) {
+		return directory.resolve(DigestUtils.sha256Hex(key) + ".cache");
+	}
+
+	/**
+	 * 写入磁盘,写入失败时删除临时文件并忽略
+	 */
+	private void write(String key, Entry entry) {
+		if (directory == null) return;
+		var file = file(key);
+		var temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			writeString(out, key);
+			writeString(out, entry.url);
+			out.writeLong(entry.expires);
+			writeMap(out, entry.vary);
+			writeMap(out, entry.headers);
+			out.writeInt(entry.body.length);
+			out.write(entry.body);
+		} catch (IOException e) {
+			delete(temp);
+			return;
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			delete(temp);
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			//
+		}
+	}
+
+	/**
+	 * 从磁盘读取,文件不存在或格式不正确时返回null
+	 */
+	private Entry read(String key) {
+		if (directory == null) return null;
+		var file = file(key);
+		if (!Files.isRegularFile(file)) return null;
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || !readString(in).equals(key)) return null;
+			var url = readString(in);
+			long expires = in.readLong();
+			var vary = readMap(in);
+			var headers = readMap(in);
+			int length = in.readInt();
+			var body = length < 0 ? null : in.readNBytes(length);
+			if (body == null || body.length != length) return null; // 文件不完整
+			return new Entry(url, vary, headers, expires, body);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+		out.writeInt(map.size());
+		for (var entry : map.entrySet()) {
+			writeString(out, entry.getKey());
+			writeString(out, entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readMap(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		var map = new HashMap<String, String>();
+		for (int i = 0; i < size; i++) map.put(readString(in), readString(in));
+		return map;
+	}
+
+	/**
+	 * 写入字符串,使用 int 长度和 UTF-8 字节,不受 writeUTF 的 64KB 长度限制
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) throw new IOException("无效的字符串长度: " + length);
+		var bytes = in.readNBytes(length);
+		if (bytes.length != length) throw new EOFException();
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 获取可以缓存的响应头,名称转换为小写
+	 */
+	private static Map<String, String> storable(Map<String, String> headers) {
+		var result = new HashMap<String, String>();
+		for (var entry : headers.entrySet()) {
+			var name = entry.getKey().toLowerCase();
+			if (!SKIP_HEADERS.contains(name)) result.put(name, entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * 根据响应头计算过期时间,优先使用 Cache-Control: max-age,其次使用 Expires,无法复用时返回当前时间
+	 */
+	private static long expires(Map<String, String> headers) {
+		long now = System.currentTimeMillis();
+		var control = directives(headers.get("cache-control"));
+		if (control.containsKey("no-cache")) return now;
+		var maxAge = control.get("max-age");
+		if (maxAge != null) {
+			try {
+				long age = headers.containsKey("age") ? Long.parseLong(headers.get("age").strip()) : 0;
+				return now + Math.max(0, Long.parseLong(maxAge) - age) * 1000;
+			} catch (NumberFormatException e) {
+				return now;
+			}
+		}
+		var expires = headers.get("expires");
+		if (expires == null) return now;
+		try {
+			long time = ZonedDateTime.parse(expires.strip(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+			var date = headers.get("date"); // 使用服务器时间计算剩余时间,避免时钟误差
+			long server = date == null ? now : ZonedDateTime.parse(date.strip(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+			return now + Math.max(0, time - server);
+		} catch (RuntimeException e) {
+			return now; // 格式不正确视为已过期
+		}
+	}
+
+	/**
+	 * 解析 Cache-Control 指令,名称转换为小写
+	 */
+	private static Map<String, String> directives(String value) {
+		if (value == null || value.isBlank()) return Map.of();
+		var result = new HashMap<String, String>();
+		for (var directive : value.split(",")) {
+			int index = directive.indexOf('=');
+			var name = (index == -1 ? directive : directive.substring(0, index)).strip().toLowerCase();
+			result.put(name, index == -1 ? "" : directive.substring(index + 1).strip().replace("\"", ""));
+		}
+		return result;
+	}
+
+	/**
+	 * 忽略大小写获取请求头
+	 */
+	private static String header(Map<String, String> headers, String name) {
+		var value = headers.get(name);
+		if (value != null) return value;
+		for (var entry : headers.entrySet()) {
+			if (entry.getKey().equalsIgnoreCase(name)) return entry.getValue();
+		}
+		return null;
+	}
+
+	/**
+	 * 命中统计
+	 *
+	 * @param hits        未发送请求直接使用缓存的次数
+	 * @param revalidated 服务器返回 304 后使用缓存的次数
+	 * @param misses      不存在可用缓存的次数
+	 */
+	public record Stats(long hits, long revalidated, long misses) {}
+
+	/**
+	 * 缓存数据
+	 *
+	 * @param url     响应URL
+	 * @param vary    Vary 请求头名称和请求时的值
+	 * @param headers 响应头
+	 * @param expires 过期时间
+	 * @param body    解压后的响应体
+	 */
+	record Entry(String url, Map<String, String> vary, Map<String, String> headers, long expires, byte[] body) {
+
+		/**
+		 * 获取条件请求头
+		 *
+		 * @return If-None-Match 和 If-Modified-Since
+		 */
+		Map<String, String> validators() {
+			var result = new HashMap<String, String>();
+			if (headers.containsKey("etag")) result.put("if-none-match", headers.get("etag"));
+			if (headers.containsKey("last-modified")) result.put("if-modified-since", headers.get("last-modified"));
+			return result;
+		}
+
+		private boolean matches(Map<String, String> headers) {
+			for (var entry : vary.entrySet()) {
+				if (!entry.getValue().equals(Objects.requireNonNullElse(header(headers, entry.getKey()), ""))) return false;
+			}
+			return true;
+		}
+
+		private long size() {
+			long size = body.length + url.length();
+			for (var entry : headers.entrySet()) size += entry.getKey().length() + entry.getValue().length();
+			return size;
+		}
+
+	}
+
+	/**
+	 * 缓存响应
+	 */
+	private static class CachedResponse extends Response {
+
+		private final Entry entry;
+
+		private CachedResponse(Entry entry, Map<String, String> cookies) {
+			this.entry = entry;
+			this.headers = new HashMap<>(entry.headers);
+			this.cookies = cookies;
+			this.body = new ByteArrayOutputStream(entry.body.length);
+			this.body.writeBytes(entry.body);
+		}
+
+		public String url() {
+			return entry.url;
+		}
+
+		public int statusCode() {
+			return HttpStatus.SC_OK;
+		}
+
+		public String statusMessage() {
+			return "OK";
+		}
+
+		public String contentType() {
+			return entry.headers.get("content-type");
+		}
+
+		public Map<String, String> headers() {
+			return headers;
+		}
+
+		public Map<String, String> cookies() {
+			return cookies;
+		}
+
+		public InputStream bodyStream() {
+			return new ByteArrayInputStream(entry.body);
+		}
+
+		protected ByteArrayOutputStream bodyAsByteArray() {
+			return body;
+		}
+
+		public void close() {
+		}
+
+	}
+
+}
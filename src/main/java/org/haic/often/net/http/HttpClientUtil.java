@@ -26,7 +26,6 @@ import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContexts;
-import org.brotli.dec.BrotliInputStream;
 import org.haic.often.Judge;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.exception.HttpException;
@@ -107,6 +106,7 @@ public class HttpClientUtil {
 		private Map<String, String> headers = new HashMap<>(); // 请求头
 		private Map<String, String> cookies = new HashMap<>(); // 请求头
 		private List<Integer> retryStatusCodes = new ArrayList<>();
+		private RetryPolicy retryPolicy = RetryPolicy.fixed(); // 重试策略
 		private List<NameValuePair> params = new ArrayList<>();
 		private final HttpClientContext context = HttpClientContext.create();
 		private CloseableHttpClient httpclient;
@@ -348,6 +348,11 @@ public class HttpClientUtil {
 			return this;
 		}
 
+		public Connection retryPolicy(@NotNull RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
 		public Connection failThrow(boolean errorExit) {
 			this.failThrow = errorExit;
 			return this;
@@ -413,10 +418,12 @@ public class HttpClientUtil {
 
 			httpclient = httpclient == null ? httpClientBuilder.build() : httpclient;
 
+			var backoff = retryPolicy.begin(request.getURI().getHost(), unlimit ? -1 : retry, MILLISECONDS_SLEEP);
 			Response response = executeProgram(request);
 			int statusCode = response.statusCode();
-			for (int i = 0; (URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (i < retry || unlimit); i++) {
-				ThreadUtil.waitThread(MILLISECONDS_SLEEP); // 程序等待
+			for (int delay; (URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (delay = backoff.next(response)) >= 0; ) {
+				response.close();
+				ThreadUtil.waitThread(delay); // 程序等待
 				response = executeProgram(request);
 				statusCode = response.statusCode();
 			}
@@ -553,10 +560,8 @@ public class HttpClientUtil {
 
 		protected ByteArrayOutputStream bodyAsByteArray() {
 			if (this.body != null) return this.body;
-			try (var in = bodyStream()) {
-				var encoding = header("content-encoding");
-				var body = "br".equals(encoding) ? new BrotliInputStream(in) : in;
-				return this.body = IOUtil.stream(body).toByteArrayOutputStream();
+			try (var in = decodedBodyStream()) { // gzip 和 deflate 已由 HttpClient 解压并移除 content-encoding
+				return this.body = IOUtil.stream(in).toByteArrayOutputStream();
 			} catch (Exception e) {
 				return null;
 			}
@@ -0,0 +1,211 @@
+package org.haic.often.net.http;
+
+import org.haic.often.annotations.NotNull;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link HttpsUtil} 长连接池配置和复用统计
+ * <p>
+ * 连接由JDK按主机和端口缓存,会话通过 {@link Connection#keepAlive(boolean)} 开启复用,读取完响应体或关闭响应后连接归还至连接池
+ * <p>
+ * 默认情况下 {@link HttpsUtil} 会将 http.keepAlive 设置为 false(除非已通过启动参数指定),此时开启复用的会话也不会复用连接,
+ * 需要在进程中首次发送请求之前调用 {@link #enable()} 或 {@link #configure(int, int)} 启用JDK连接缓存。
+ * 这些方法修改的是JVM全局的 http.* 系统属性,会影响进程中所有 HttpURLConnection 的使用者
+ * <p>
+ * 复用统计仅包含开启复用的会话发送的 https 请求(直连或通过 HTTP 代理),普通 http 请求和带认证的 https 代理请求不计入
+ * <p>
+ * 使用方法: HttpConnectionPool.configure(10, 30); var session = HttpsUtil.newSession().keepAlive(true); ... HttpConnectionPool.stats().reuseRatio();
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 22:40
+ */
+public final class HttpConnectionPool {
+
+	private static final Map<SSLSocketFactory, SSLSocketFactory> FACTORIES = new WeakHashMap<>(); // 原始工厂 -> 统计工厂,统计工厂弱引用原始工厂,原始工厂不再使用时条目可被回收
+	private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+	private HttpConnectionPool() {
+	}
+
+	/**
+	 * 启用JDK连接缓存,使用JDK默认的空闲连接数量和超时时间
+	 * <p>
+	 * 设置JVM全局系统属性 http.keepAlive=true,JDK仅在首次建立连接时读取,需要在进程中首次发送请求之前调用
+	 */
+	public static void enable() {
+		System.setProperty("http.keepAlive", "true");
+	}
+
+	/**
+	 * 启用并配置JDK连接缓存
+	 * <p>
+	 * 设置JVM全局系统属性 http.keepAlive, http.maxConnections, http.keepAlive.time.server, http.keepAlive.time.proxy,
+	 * JDK仅在首次建立连接时读取,需要在进程中首次发送请求之前调用
+	 *
+	 * @param maxIdlePerHost     每个主机最多保留的空闲连接数量
+	 * @param idleTimeoutSeconds 空闲连接超时时间(秒),服务器未指定 keep-alive 超时时间时使用
+	 */
+	public static void configure(int maxIdlePerHost, int idleTimeoutSeconds) {
+		if (maxIdlePerHost < 1) throw new IllegalArgumentException("空闲连接数量必须大于0: " + maxIdlePerHost);
+		if (idleTimeoutSeconds < 1) throw new IllegalArgumentException("空闲超时时间必须大于0: " + idleTimeoutSeconds);
+		enable();
+		System.setProperty("http.maxConnections", String.valueOf(maxIdlePerHost));
+		System.setProperty("http.keepAlive.time.server", String.valueOf(idleTimeoutSeconds));
+		System.setProperty("http.keepAlive.time.proxy", String.valueOf(idleTimeoutSeconds));
+	}
+
+	/**
+	 * 获取所有主机的复用统计
+	 *
+	 * @return 统计信息
+	 */
+	public static Stats stats() {
+		long requests = 0;
+		long connections = 0;
+		for (var counter : COUNTERS.values()) {
+			requests += counter.requests.sum();
+			connections += counter.connections.sum();
+		}
+		return new Stats(requests, connections);
+	}
+
+	/**
+	 * 获取指定主机的复用统计
+	 *
+	 * @param host 主机名
+	 * @return 统计信息
+	 */
+	public static Stats stats(@NotNull String host) {
+		var counter = COUNTERS.get(host.toLowerCase());
+		return counter == null ? new Stats(0, 0) : new Stats(counter.requests.sum(), counter.connections.sum());
+	}
+
+	/**
+	 * 清空统计信息
+	 */
+	public static void resetStats() {
+		COUNTERS.clear();
+	}
+
+	/**
+	 * 获取统计新建连接数量的 SSL 套接字工厂,同一个原始工厂始终返回同一个实例(JDK只复用同一个工厂创建的连接)
+	 *
+	 * @param factory 原始工厂
+	 * @return 统计工厂
+	 */
+	static SSLSocketFactory socketFactory(@NotNull SSLSocketFactory factory) {
+		if (factory instanceof CountingSocketFactory) return factory;
+		synchronized (FACTORIES) {
+			return FACTORIES.computeIfAbsent(factory, CountingSocketFactory::new);
+		}
+	}
+
+	/**
+	 * 记录一次请求
+	 *
+	 * @param host 主机名
+	 */
+	static void request(@NotNull String host) {
+		counter(host).requests.increment();
+	}
+
+	private static Counter counter(String host) {
+		return COUNTERS.computeIfAbsent(host.toLowerCase(), k -> new Counter());
+	}
+
+	/**
+	 * 复用统计
+	 *
+	 * @param requests    请求数量
+	 * @param connections 新建连接数量
+	 */
+	public record Stats(long requests, long connections) {
+
+		/**
+		 * 获取连接复用率,即未建立新连接的请求所占比例
+		 *
+		 * @return 复用率,不存在请求时为0
+		 */
+		public double reuseRatio() {
+			return requests == 0 ? 0 : Math.max(0, requests - connections) / (double) requests;
+		}
+
+	}
+
+	private static class Counter {
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder connections = new LongAdder();
+	}
+
+	/**
+	 * 创建套接字时记录新建连接的 SSL 套接字工厂
+	 * <p>
+	 * 不支持创建未连接的套接字,JDK将先建立普通连接再调用 {@link #createSocket(Socket, String, int, boolean)}
+	 */
+	private static class CountingSocketFactory extends SSLSocketFactory {
+
+		private final WeakReference<SSLSocketFactory> factory; // 弱引用,避免 WeakHashMap 的值引用键导致条目无法回收
+
+		private CountingSocketFactory(SSLSocketFactory factory) {
+			this.factory = new WeakReference<>(factory);
+		}
+
+		private SSLSocketFactory factory() throws IOException {
+			var factory = this.factory.get();
+			if (factory == null) throw new IOException("原始 SSL 套接字工厂已被回收");
+			return factory;
+		}
+
+		public String[] getDefaultCipherSuites() {
+			var factory = this.factory.get();
+			return factory == null ? new String[0] : factory.getDefaultCipherSuites();
+		}
+
+		public String[] getSupportedCipherSuites() {
+			var factory = this.factory.get();
+			return factory == null ? new String[0] : factory.getSupportedCipherSuites();
+		}
+
+		public Socket createSocket(Socket s, String host, int port, boolean autoClose) throws IOException {
+			counter(host).connections.increment();
+			return factory().createSocket(s, host, port, autoClose);
+		}
+
+		public Socket createSocket(Socket s, InputStream consumed, boolean autoClose) throws IOException {
+			return factory().createSocket(s, consumed, autoClose);
+		}
+
+		public Socket createSocket(String host, int port) throws IOException {
+			counter(host).connections.increment();
+			return factory().createSocket(host, port);
+		}
+
+		public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+			counter(host).connections.increment();
+			return factory().createSocket(host, port, localHost, localPort);
+		}
+
+		public Socket createSocket(InetAddress host, int port) throws IOException {
+			counter(host.getHostName()).connections.increment();
+			return factory().createSocket(host, port);
+		}
+
+		public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+			counter(address.getHostName()).connections.increment();
+			return factory().createSocket(address, port, localAddress, localPort);
+		}
+
+	}
+
+}
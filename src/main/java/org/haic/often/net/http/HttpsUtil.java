@@ -1,6 +1,5 @@
 package org.haic.often.net.http;
 
-import org.brotli.dec.BrotliInputStream;
 import org.haic.often.Judge;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.exception.HttpException;
@@ -23,12 +22,8 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Https 工具类
@@ -40,9 +35,11 @@ import java.util.zip.InflaterInputStream;
 public class HttpsUtil {
 
 	static {
-		System.setProperty("http.keepAlive", "false"); // 关闭长连接复用,防止流阻塞
+		if (System.getProperty("http.keepAlive") == null) System.setProperty("http.keepAlive", "false"); // 默认关闭长连接复用,防止流阻塞,通过 HttpConnectionPool.enable() 启用
 	}
 
+	private static final SSLSocketFactory IGNORE_SSL_SOCKET_FACTORY = IgnoreSSLSocket.ignoreSSLContext().getSocketFactory(); // 会话共享,以便复用连接
+
 	private HttpsUtil() {
 	}
 
@@ -78,6 +75,10 @@ public class HttpsUtil {
 		private boolean unlimit;// 请求异常无限重试
 		private boolean failThrow; // 错误异常
 		private boolean followRedirects = true; // 重定向
+		private boolean keepAlive; // 复用连接
+		private HttpCache cache; // 响应缓存
+		private HostLimiter limiter = HostLimiter.global(); // 请求速率和并发限制
+		private CookieJar cookieJar; // 共享 cookie 存储
 		private Proxy proxy = Proxy.NO_PROXY; // 代理
 		private String proxyUser;
 		private String proxyPwd;
@@ -85,8 +86,9 @@ public class HttpsUtil {
 		private Map<String, String> headers = new HashMap<>(); // 请求头
 		private Map<String, String> cookies = new HashMap<>(); // cookies
 		private List<Integer> retryStatusCodes = new ArrayList<>();
+		private RetryPolicy retryPolicy = RetryPolicy.fixed(); // 重试策略
 		private ThreeTuple<String, String, InputStream> file;
-		private SSLSocketFactory sslSocketFactory = IgnoreSSLSocket.ignoreSSLContext().getSocketFactory();
+		private SSLSocketFactory sslSocketFactory = IGNORE_SSL_SOCKET_FACTORY;
 
 		private HttpConnection(@NotNull String url) {
 			initialization(url);
@@ -133,6 +135,26 @@ public class HttpsUtil {
 			return this;
 		}
 
+		public Connection keepAlive(boolean keepAlive) {
+			this.keepAlive = keepAlive;
+			return this;
+		}
+
+		public Connection cache(HttpCache cache) {
+			this.cache = cache;
+			return this;
+		}
+
+		public Connection limiter(@NotNull HostLimiter limiter) {
+			this.limiter = limiter;
+			return this;
+		}
+
+		public Connection cookieJar(@NotNull CookieJar cookieJar) {
+			this.cookieJar = cookieJar;
+			return this;
+		}
+
 		public Connection userAgent(@NotNull String userAgent) {
 			return header("user-agent", userAgent);
 		}
@@ -300,6 +322,11 @@ public class HttpsUtil {
 			return this;
 		}
 
+		public Connection retryPolicy(@NotNull RetryPolicy retryPolicy) {
+			this.retryPolicy = retryPolicy;
+			return this;
+		}
+
 		public Connection failThrow(boolean exit) {
 			failThrow = exit;
 			return this;
@@ -307,10 +334,12 @@ public class HttpsUtil {
 
 		@NotNull
 		public Response execute() {
+			var backoff = retryPolicy.begin(URIUtil.getHost(url), unlimit ? -1 : retry, MILLISECONDS_SLEEP);
 			var response = executeProgram(url, method, params);
 			int statusCode = response.statusCode();
-			for (int i = 0; (URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (i < retry || unlimit); i++) {
-				ThreadUtil.waitThread(MILLISECONDS_SLEEP); // 程序等待
+			for (int delay; (URIUtil.statusIsTimeout(statusCode) || retryStatusCodes.contains(statusCode)) && (delay = backoff.next(response)) >= 0; ) {
+				response.close();
+				ThreadUtil.waitThread(delay); // 程序等待
 				response = executeProgram(url, method, params);
 				statusCode = response.statusCode();
 			}
@@ -328,10 +357,23 @@ public class HttpsUtil {
 		@NotNull
 		private Response executeProgram(@NotNull String requestUrl, @NotNull Method method, @NotNull String params) {
 			HttpURLConnection conn = null;
+			HttpCache.Entry cached = null;
+			var fullUrl = method == Method.GET && !Judge.isEmpty(params) ? requestUrl + (requestUrl.contains("?") ? "&" : "?") + params : requestUrl;
+			if (method == Method.GET && cache != null && (cached = cache.lookup(fullUrl, headers)) != null && cache.isFresh(cached, headers)) {
+				return cache.response(cached, cookies, true); // 缓存未过期,不发送请求
+			}
+			HostLimiter.Permit permit;
+			try {
+				permit = limiter.acquire(URIUtil.getHost(requestUrl)); // 等待速率和并发限制
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return new HttpResponse(null, cookies, false);
+			}
 			try {
 				switch (method) {
 					case GET -> {
-						conn = connection(Judge.isEmpty(params) ? requestUrl : requestUrl + (requestUrl.contains("?") ? "&" : "?") + params);
+						conn = connection(fullUrl);
+						if (cached != null) cached.validators().forEach(conn::setRequestProperty); // 条件请求
 						conn.connect();
 					}
 					case POST, PUT, PATCH -> {
@@ -366,7 +408,7 @@ public class HttpsUtil {
 							output.flush(); // flush输出流的缓冲
 						} catch (IOException e) {
 							conn.disconnect();
-							return new HttpResponse(conn, cookies);
+							return new HttpResponse(conn, cookies, false);
 						}
 					}
 					case OPTIONS, DELETE, HEAD, TRACE -> {
@@ -377,22 +419,64 @@ public class HttpsUtil {
 				}
 
 				// 维护cookies
-				var headerFields = conn.getHeaderFields();
-				var cookies = headerFields.getOrDefault("Set-Cookie", headerFields.get("set-cookie"));
-				cookies(cookies == null ? new HashMap<>() : cookies.stream().filter(l -> !l.equals("-") && !l.isBlank()).collect(Collectors.toMap(l -> l.substring(0, l.indexOf("=")), l -> l.substring(l.indexOf("=") + 1, l.indexOf(";")), (e1, e2) -> e2)));
-				var res = new HttpResponse(conn, this.cookies);
+				var headerFields = new ResponseHeaders(conn.getHeaderFields(), true);
+				permit.close(); // 已收到响应头
+				var cookies = headerFields.all("set-cookie");
+				if (cookieJar != null) cookieJar.save(fullUrl, cookies);
+				else if (!cookies.isEmpty()) cookies(cookies.stream().filter(l -> !l.equals("-") && !l.isBlank() && l.contains("=")).collect(Collectors.toMap(l -> l.substring(0, l.indexOf("=")), l -> l.substring(l.indexOf("=") + 1, l.contains(";") ? l.indexOf(";") : l.length()), (e1, e2) -> e2)));
+				var res = new HttpResponse(conn, cookieJar == null ? this.cookies : responseCookies(fullUrl), keepAlive);
+				res.headers = headerFields;
+				if (cache != null) {
+					int statusCode = res.statusCode();
+					if (cached != null && statusCode == HttpStatus.SC_NOT_MODIFIED) { // 数据未修改,使用缓存
+						res.close();
+						return cache.response(cache.refresh(fullUrl, cached, res), this.cookies, false);
+					}
+					if (method == Method.GET && statusCode == HttpStatus.SC_OK) {
+						cache.store(fullUrl, headers, res);
+					} else if (method != Method.GET && method != Method.HEAD && method != Method.OPTIONS && method != Method.TRACE && URIUtil.statusIsOK(statusCode)) {
+						cache.remove(requestUrl);
+					}
+				}
 
 				String redirectUrl; // 修复重定向
 				if (followRedirects && URIUtil.statusIsNormal(res.statusCode()) && !Judge.isEmpty(redirectUrl = res.header("location"))) {
-					conn.disconnect();
+					res.close();
 					return executeProgram(URIUtil.toAbsoluteUrl(requestUrl, redirectUrl), Method.GET, "");  // 跳转修正为GET
 				}
 				return res;
 			} catch (IOException e) {
-				return new HttpResponse(conn, cookies);
+				return new HttpResponse(conn, cookies, false);
+			} finally {
+				permit.close();
 			}
 		}
 
+		/**
+		 * 获取请求的 cookie 请求头,手动设置的 cookies 在前,cookie 存储中匹配的在后
+		 *
+		 * @param url 请求URL
+		 * @return cookie 请求头的值
+		 */
+		private String cookie(@NotNull String url) {
+			var cookie = cookies.entrySet().stream().map(l -> l.getKey() + "=" + l.getValue()).collect(Collectors.joining("; "));
+			if (cookieJar == null) return cookie;
+			var stored = cookieJar.header(url);
+			return cookie.isEmpty() ? stored : stored.isEmpty() ? cookie : cookie + "; " + stored;
+		}
+
+		/**
+		 * 获取响应的 cookies,包括 cookie 存储中匹配的和手动设置的
+		 *
+		 * @param url 请求URL
+		 * @return cookies
+		 */
+		private Map<String, String> responseCookies(@NotNull String url) {
+			var cookies = cookieJar.cookies(url);
+			cookies.putAll(this.cookies);
+			return cookies;
+		}
+
 		/**
 		 * 创建HttpURLConnection实例
 		 *
@@ -407,7 +491,8 @@ public class HttpsUtil {
 				conn = (HttpURLConnection) thisURL.openConnection(proxy);
 				// https 忽略证书验证
 				if (url.startsWith("https")) { // 在握手期间，如果 URL 的主机名和服务器的标识主机名不匹配，则验证机制可以回调此接口的实现程序来确定是否应该允许此连接。
-					((HttpsURLConnection) conn).setSSLSocketFactory(sslSocketFactory);
+					if (keepAlive) HttpConnectionPool.request(thisURL.getHost());
+					((HttpsURLConnection) conn).setSSLSocketFactory(keepAlive ? HttpConnectionPool.socketFactory(sslSocketFactory) : sslSocketFactory);
 					((HttpsURLConnection) conn).setHostnameVerifier((arg0, arg1) -> true);
 				}
 			} else {
@@ -423,14 +508,14 @@ public class HttpsUtil {
 					conn = new ProxiedHttpsConnection(thisURL, proxy.address(), proxyUser, proxyPwd);
 				}
 			}
-			conn.setRequestProperty("connection", "close");
+			conn.setRequestProperty("connection", keepAlive ? "keep-alive" : "close");
 			conn.setRequestMethod(method.name()); // 请求方法
 			conn.setConnectTimeout(timeout < 10000 && timeout != 0 ? timeout : 10000); // 连接超时
 			conn.setReadTimeout(timeout); // 读取超时
 			conn.setInstanceFollowRedirects(false); // 重定向,http和https之间无法遵守重定向
 
 			// 设置cookie
-			conn.setRequestProperty("cookie", cookies.entrySet().stream().map(l -> l.getKey() + "=" + l.getValue()).collect(Collectors.joining("; ")));
+			conn.setRequestProperty("cookie", cookie(url));
 
 			// 设置通用的请求属性
 			for (Map.Entry<String, String> entry : headers.entrySet()) {
@@ -452,14 +537,16 @@ public class HttpsUtil {
 	private static class HttpResponse extends Response {
 
 		private final HttpURLConnection conn;
+		private final boolean keepAlive;
 
-		private HttpResponse(HttpURLConnection conn, Map<String, String> cookies) {
+		private HttpResponse(HttpURLConnection conn, Map<String, String> cookies, boolean keepAlive) {
 			this.conn = conn;
 			this.cookies = cookies;
+			this.keepAlive = keepAlive;
 		}
 
 		public String url() {
-			return conn.getURL().toExternalForm();
+			return conn == null ? null : conn.getURL().toExternalForm();
 		}
 
 		public int statusCode() {
@@ -480,11 +567,11 @@ public class HttpsUtil {
 		}
 
 		public String contentType() {
-			return conn.getContentType();
+			return conn == null ? null : conn.getContentType();
 		}
 
 		public Map<String, String> headers() {
-			return headers == null ? headers = conn.getHeaderFields().entrySet().stream().filter(l -> l.getKey() != null).collect(Collectors.toMap(l -> l.getKey().toLowerCase(), l -> new String((l.getKey().equalsIgnoreCase("set-cookie") ? l.getValue().stream().filter(v -> !v.equals("-") && !v.isBlank()).map(v -> v.substring(0, v.indexOf(";"))).collect(Collectors.joining("; ")) : String.join("; ", l.getValue())).getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8), (e1, e2) -> e2)) : headers;
+			return headers == null ? headers = new ResponseHeaders(conn == null ? null : conn.getHeaderFields(), true) : headers;
 		}
 
 		public Map<String, String> cookies() {
@@ -492,16 +579,15 @@ public class HttpsUtil {
 		}
 
 		public InputStream bodyStream() throws IOException {
+			if (conn == null) throw new IOException("连接失败,不存在响应数据");
 			return URIUtil.statusIsNormal(statusCode()) ? conn.getInputStream() : conn.getErrorStream();
 		}
 
 		protected ByteArrayOutputStream bodyAsByteArray() {
 			if (this.body != null) return this.body;
-			try (var in = bodyStream()) {
-				var encoding = header("content-encoding");
-				var body = "gzip".equals(encoding) ? new GZIPInputStream(in) : "deflate".equals(encoding) ? new InflaterInputStream(in, new Inflater(true)) : "br".equals(encoding) ? new BrotliInputStream(in) : in;
-				this.body = IOUtil.stream(body).toByteArrayOutputStream();
-				conn.disconnect();
+			try (var in = decodedBodyStream()) {
+				this.body = IOUtil.stream(in).toByteArrayOutputStream();
+				if (!keepAlive) conn.disconnect(); // 复用连接时关闭流即可归还连接
 				return this.body;
 			} catch (Exception e) {
 				return null;
@@ -510,7 +596,12 @@ public class HttpsUtil {
 
 		public void close() {
 			try {
-				conn.disconnect();
+				if (!keepAlive) {
+					conn.disconnect();
+				} else if (body == null) { // 关闭流,未读取的少量数据将被丢弃,连接归还至连接池
+					var in = bodyStream();
+					if (in != null) in.close();
+				}
 			} catch (Exception e) {
 				//
 			}
@@ -1,5 +1,6 @@
 package org.haic.often.net.http;
 
+import org.brotli.dec.BrotliInputStream;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.exception.HttpException;
 import org.haic.often.net.URIUtil;
@@ -8,12 +9,15 @@ import org.haic.often.parser.json.JSONObject;
 import org.haic.often.parser.xml.Document;
 import org.haic.often.util.TypeUtil;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * 响应接口
@@ -24,6 +28,9 @@ import java.util.Map;
  */
 public abstract class Response {
 
+	private static final int PEEK_SIZE = 1024; // 检测网页字符集时读取的最大长度, meta charset 应位于前1024字节内
+	private static final Pattern META_CHARSET = Pattern.compile("<meta[^>]+charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
 	protected Map<String, String> headers;
 	protected Map<String, String> cookies;
 	protected Charset charset;
@@ -200,6 +207,96 @@ public abstract class Response {
 	 */
 	public abstract InputStream bodyStream() throws IOException;
 
+	/**
+	 * 获取解压后的响应体流,根据 content-encoding 解压 gzip, deflate, br,不会将数据读取至内存,使用完毕后需要关闭
+	 * <p>
+	 * 响应体已被读取时(例: 调用过 {@link #body()}),返回已读取数据的流
+	 *
+	 * @return 解压后的响应体流
+	 * @throws IOException 如果发生 I/O 异常
+	 */
+	public InputStream decodedBodyStream() throws IOException {
+		if (body != null) return new ByteArrayInputStream(body.toByteArray());
+		return decode(bodyStream(), header("content-encoding"));
+	}
+
+	/**
+	 * 获取解压后的响应体字符流,用于逐步解析大型响应,使用完毕后需要关闭
+	 * <p>
+	 * 字符集未设置时,根据 content-type 获取,网页未指定时从前 1024 字节中的 meta 标签获取,不会读取全部数据
+	 *
+	 * @return 响应体字符流
+	 * @throws IOException 如果发生 I/O 异常
+	 */
+	public Reader bodyReader() throws IOException {
+		if (body != null) return new InputStreamReader(new ByteArrayInputStream(body.toByteArray()), charset());
+		var in = new BufferedInputStream(decodedBodyStream(), 8192);
+		return new InputStreamReader(in, charset == null ? charset = detectCharset(in) : charset);
+	}
+
+	/**
+	 * 从 content-type 或流的起始数据中获取字符集,读取后将流重置至起始位置
+	 *
+	 * @param in 支持标记的流
+	 * @return 字符集
+	 * @throws IOException 如果发生 I/O 异常
+	 */
+	private Charset detectCharset(@NotNull InputStream in) throws IOException {
+		var type = contentType();
+		if (type == null) return StandardCharsets.UTF_8;
+		int index = type.toLowerCase().indexOf("charset=");
+		if (index != -1) return forName(type.substring(index + 8).split(";")[0].replace("\"", "").replace("'", "").strip());
+		if (!type.contains("html")) return StandardCharsets.UTF_8;
+		in.mark(PEEK_SIZE);
+		var head = in.readNBytes(PEEK_SIZE);
+		in.reset();
+		var matcher = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+		if (matcher.find()) return forName(matcher.group(1));
+		int end = head.length; // 去除末尾不完整的UTF-8字符后在本地判断UTF8或GBK
+		for (int i = head.length - 1; i >= Math.max(0, head.length - 3) && (head[i] & 0x80) != 0; i--) {
+			if ((head[i] & 0xC0) == 0xC0) {
+				end = i;
+				break;
+			}
+		}
+		return URIUtil.encoding(end == head.length ? head : Arrays.copyOf(head, end));
+	}
+
+	private static Charset forName(@NotNull String name) {
+		try {
+			return Charset.forName(name);
+		} catch (IllegalArgumentException e) {
+			return StandardCharsets.UTF_8;
+		}
+	}
+
+	/**
+	 * 根据 content-encoding 包装解压流
+	 *
+	 * @param in       原始流
+	 * @param encoding 压缩格式
+	 * @return 解压流
+	 * @throws IOException 如果发生 I/O 异常
+	 */
+	protected static InputStream decode(InputStream in, String encoding) throws IOException {
+		if (in == null) throw new IOException("不存在响应数据");
+		if (encoding == null) return in;
+		return switch (encoding.strip().toLowerCase()) {
+			case "gzip", "x-gzip" -> new GZIPInputStream(in, 8192);
+			case "deflate" -> new InflaterInputStream(in, new Inflater(true), 8192) {
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						inf.end(); // 释放本地内存
+					}
+				}
+			};
+			case "br" -> new BrotliInputStream(in);
+			default -> in;
+		};
+	}
+
 	/**
 	 * Get the body of the response as an array of bytes.
 	 *
@@ -0,0 +1,100 @@
+package org.haic.often.net.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 响应头视图,名称不区分大小写,按名称查找时才解析对应的值并缓存,仅在遍历时生成全部响应头
+ * <p>
+ * 同名响应头使用 "; " 连接, set-cookie 仅保留 name=value 部分,与原有 headers() 的格式一致
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/20 2:40
+ */
+final class ResponseHeaders extends AbstractMap<String, String> {
+
+	private static final String NONE = new String(); // 缓存中表示响应头不存在
+
+	private final Map<String, List<String>> fields; // 原始响应头
+	private final boolean utf8; // 原始值为 ISO-8859-1 解码,需要重新以 UTF-8 解码
+	private final Map<String, String> values = new ConcurrentHashMap<>(); // 小写名称 -> 值
+	private volatile Map<String, String> all;
+
+	/**
+	 * @param fields 原始响应头,名称大小写任意
+	 * @param utf8   是否将值从 ISO-8859-1 重新解码为 UTF-8
+	 */
+	ResponseHeaders(Map<String, List<String>> fields, boolean utf8) {
+		this.fields = fields == null ? Map.of() : fields;
+		this.utf8 = utf8;
+	}
+
+	/**
+	 * 获取指定名称的全部原始值,不存在时返回空列表
+	 *
+	 * @param name 响应头名称,不区分大小写
+	 * @return 原始值列表
+	 */
+	List<String> all(String name) {
+		List<String> result = null;
+		for (var entry : fields.entrySet()) {
+			if (!name.equalsIgnoreCase(entry.getKey())) continue;
+			if (result == null) result = entry.getValue();
+			else (result = new ArrayList<>(result)).addAll(entry.getValue()); // 名称大小写不同的同名响应头
+		}
+		return result == null ? List.of() : result;
+	}
+
+	@Override
+	public String get(Object name) {
+		if (!(name instanceof String key)) return null;
+		var value = values.get(key);
+		if (value == null) {
+			var list = all(key);
+			values.put(key, value = list.isEmpty() ? NONE : join(key, list));
+		}
+		return value == NONE ? null : value;
+	}
+
+	@Override
+	public boolean containsKey(Object name) {
+		return get(name) != null;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		var all = this.all;
+		if (all == null) {
+			all = new HashMap<>();
+			for (var key : fields.keySet()) {
+				if (key == null || key.startsWith(":")) continue; // 状态行或 HTTP/2 伪首部
+				var name = key.toLowerCase();
+				all.put(name, get(name));
+			}
+			this.all = all = Collections.unmodifiableMap(all);
+		}
+		return all.entrySet();
+	}
+
+	private String join(String name, List<String> list) {
+		if (list.size() == 1 && !name.equalsIgnoreCase("set-cookie")) return decode(list.get(0));
+		var joiner = new StringJoiner("; ");
+		for (var v : list) {
+			if (name.equalsIgnoreCase("set-cookie")) {
+				if (v.equals("-") || v.isBlank()) continue;
+				int index = v.indexOf(";");
+				v = index == -1 ? v : v.substring(0, index);
+			}
+			joiner.add(v);
+		}
+		return decode(joiner.toString());
+	}
+
+	private String decode(String value) {
+		if (!utf8 || value.chars().allMatch(c -> c < 0x80)) return value; // ASCII 无需重新解码
+		return new String(value.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,257 @@
+package org.haic.often.net.http;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 重试策略,决定请求失败后是否重试以及等待时间,同一策略可由多个连接共享
+ * <p>
+ * 支持指数退避,随机抖动,最长重试时间,响应头 Retry-After,以及按主机计算的重试预算(限制重试请求占全部请求的比例,避免服务器故障时重试放大请求量)
+ * <p>
+ * 设置方法可在使用中调用,修改对之后开始的请求生效
+ * <p>
+ * 使用方法: HttpsUtil.connect(url).retry(5).retryPolicy(RetryPolicy.exponential().maxElapsed(60000).budget(0.1, 10))
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/20 1:10
+ */
+public class RetryPolicy {
+
+	private static final long SCALE = 1000; // 预算令牌精度
+	private static final int MAX_HOSTS = 1024; // 记录预算的主机数量上限
+
+	private volatile int base; // 基础等待时间
+	private volatile int maxDelay = Integer.MAX_VALUE; // 最大等待时间
+	private volatile double multiplier = 1; // 退避倍数
+	private volatile double jitter; // 抖动比例
+	private volatile long maxElapsed; // 最长重试时间
+	private volatile boolean retryAfter; // 遵循 Retry-After
+	private volatile Budget budget; // 重试预算,未设置时为null
+
+	private RetryPolicy() {
+	}
+
+	/**
+	 * 创建固定等待时间的重试策略,等待时间默认使用连接 retry(int, int) 设置的值,与未设置重试策略时的行为相同
+	 *
+	 * @return 重试策略
+	 */
+	public static RetryPolicy fixed() {
+		return new RetryPolicy();
+	}
+
+	/**
+	 * 创建指数退避的重试策略,默认基础等待时间100毫秒,每次重试等待时间翻倍,最大30秒,抖动比例0.5,遵循 Retry-After
+	 *
+	 * @return 重试策略
+	 */
+	public static RetryPolicy exponential() {
+		return new RetryPolicy().base(100).multiplier(2).maxDelay(30000).jitter(0.5).retryAfter(true);
+	}
+
+	/**
+	 * 设置基础等待时间,未设置时使用连接 retry(int, int) 设置的值
+	 *
+	 * @param millis 基础等待时间(毫秒)
+	 * @return this
+	 */
+	public RetryPolicy base(int millis) {
+		if (millis < 0) throw new IllegalArgumentException("等待时间不能小于0: " + millis);
+		this.base = millis;
+		return this;
+	}
+
+	/**
+	 * 设置每次重试等待时间的增长倍数
+	 *
+	 * @param multiplier 倍数,不小于1
+	 * @return this
+	 */
+	public RetryPolicy multiplier(double multiplier) {
+		if (!(multiplier >= 1)) throw new IllegalArgumentException("退避倍数不能小于1: " + multiplier);
+		this.multiplier = multiplier;
+		return this;
+	}
+
+	/**
+	 * 设置最大等待时间,Retry-After 要求的等待时间超过此值时停止重试
+	 *
+	 * @param millis 最大等待时间(毫秒)
+	 * @return this
+	 */
+	public RetryPolicy maxDelay(int millis) {
+		if (millis < 0) throw new IllegalArgumentException("等待时间不能小于0: " + millis);
+		this.maxDelay = millis;
+		return this;
+	}
+
+	/**
+	 * 设置抖动比例,实际等待时间在 [等待时间 * (1 - jitter), 等待时间] 内随机,避免多个客户端同时重试
+	 *
+	 * @param jitter 抖动比例,0-1
+	 * @return this
+	 */
+	public RetryPolicy jitter(double jitter) {
+		if (!(jitter >= 0 && jitter <= 1)) throw new IllegalArgumentException("抖动比例必须在0-1之间: " + jitter);
+		this.jitter = jitter;
+		return this;
+	}
+
+	/**
+	 * 设置最长重试时间,自首次请求开始超过此时间后不再重试,对无限重试同样有效
+	 *
+	 * @param millis 最长重试时间(毫秒),0为不限制
+	 * @return this
+	 */
+	public RetryPolicy maxElapsed(long millis) {
+		if (millis < 0) throw new IllegalArgumentException("重试时间不能小于0: " + millis);
+		this.maxElapsed = millis;
+		return this;
+	}
+
+	/**
+	 * 设置是否遵循响应头 Retry-After,启用时等待时间不小于服务器要求的时间
+	 *
+	 * @param retryAfter 启用 Retry-After
+	 * @return this
+	 */
+	public RetryPolicy retryAfter(boolean retryAfter) {
+		this.retryAfter = retryAfter;
+		return this;
+	}
+
+	/**
+	 * 设置按主机计算的重试预算,每个请求存入 ratio 个令牌,每次重试消耗1个令牌,令牌不足时停止重试
+	 * <p>
+	 * 令牌上限及初始数量为 minRetries,保证请求较少时仍可重试
+	 *
+	 * @param ratio      重试请求占全部请求的最大比例
+	 * @param minRetries 预算令牌上限
+	 * @return this
+	 */
+	public RetryPolicy budget(double ratio, int minRetries) {
+		if (!(ratio >= 0)) throw new IllegalArgumentException("重试比例不能小于0: " + ratio);
+		if (minRetries < 1) throw new IllegalArgumentException("预算令牌上限必须大于0: " + minRetries);
+		this.budget = new Budget((long) (ratio * SCALE), minRetries * SCALE, new ConcurrentHashMap<>());
+		return this;
+	}
+
+	/**
+	 * 开始一次请求,返回用于计算本次请求重试等待时间的退避对象
+	 *
+	 * @param host   主机名
+	 * @param retry  最大重试次数,小于0为无限重试
+	 * @param millis 连接设置的重试等待时间(毫秒)
+	 * @return 退避对象
+	 */
+	public Backoff begin(String host, int retry, int millis) {
+		var budget = this.budget;
+		var tokens = budget == null || host == null ? null : budget.tokens(host.toLowerCase());
+		int base = this.base;
+		return new Backoff(tokens, retry, base == 0 ? millis : base);
+	}
+
+	/**
+	 * 解析 Retry-After 响应头,支持秒数和HTTP日期
+	 *
+	 * @param value 响应头的值
+	 * @return 等待时间(毫秒),无法解析时返回-1
+	 */
+	private static long parseRetryAfter(String value) {
+		if (value == null || (value = value.strip()).isEmpty()) return -1;
+		try {
+			return value.chars().allMatch(Character::isDigit) ? Math.multiplyExact(Long.parseLong(value), 1000) : Math.max(0, ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis());
+		} catch (RuntimeException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * 按主机记录的预算令牌
+	 *
+	 * @param ratio 每个请求存入的预算令牌
+	 * @param max   预算令牌上限
+	 * @param hosts 主机 -> 预算令牌
+	 */
+	private record Budget(long ratio, long max, Map<String, AtomicLong> hosts) {
+
+		/**
+		 * 存入本次请求的令牌并返回主机的预算令牌
+		 */
+		private AtomicLong tokens(String host) {
+			var tokens = hosts.get(host);
+			if (tokens == null) {
+				if (hosts.size() >= MAX_HOSTS) { // 移除令牌已满的主机,与新建时的状态相同
+					hosts.values().removeIf(v -> v.get() >= max);
+					if (hosts.size() >= MAX_HOSTS) hosts.clear();
+				}
+				tokens = hosts.computeIfAbsent(host, k -> new AtomicLong(max));
+			}
+			tokens.accumulateAndGet(ratio, (v, x) -> Math.min(max, v + x));
+			return tokens;
+		}
+
+	}
+
+	/**
+	 * 单次请求的重试状态,创建时复制策略的设置,非线程安全
+	 */
+	public class Backoff {
+
+		private final AtomicLong budget;
+		private final int retry;
+		private final int maxDelay = RetryPolicy.this.maxDelay;
+		private final double multiplier = RetryPolicy.this.multiplier;
+		private final double jitter = RetryPolicy.this.jitter;
+		private final long maxElapsed = RetryPolicy.this.maxElapsed;
+		private final boolean retryAfter = RetryPolicy.this.retryAfter;
+		private final long start = System.nanoTime();
+		private double delay;
+		private int count;
+
+		private Backoff(AtomicLong budget, int retry, int base) {
+			this.budget = budget;
+			this.retry = retry;
+			this.delay = base;
+		}
+
+		/**
+		 * 获取下一次重试前的等待时间
+		 *
+		 * @param res 失败的响应,没有响应时为null,用于读取 Retry-After
+		 * @return 等待时间(毫秒),不应重试或当前线程已被中断时返回-1
+		 */
+		public int next(Response res) {
+			if (retry >= 0 && count >= retry) return -1;
+			if (Thread.currentThread().isInterrupted()) return -1; // 线程已被中断,例: 等待请求限制时中断
+			long wait = (long) Math.min(delay, maxDelay);
+			if (jitter > 0 && wait > 0) wait -= (long) (wait * jitter * ThreadLocalRandom.current().nextDouble());
+			if (retryAfter && res != null && (res.statusCode() == 429 || res.statusCode() == 503)) { // 仅限流和服务不可用时有效
+				long after = parseRetryAfter(res.header("retry-after"));
+				if (after > maxDelay) return -1; // 服务器要求的等待时间过长
+				wait = Math.max(wait, after);
+			}
+			if (maxElapsed > 0 && (System.nanoTime() - start) / 1_000_000 + wait > maxElapsed) return -1;
+			if (budget != null && budget.getAndUpdate(v -> v >= SCALE ? v - SCALE : v) < SCALE) return -1; // 预算不足
+			count++;
+			delay *= multiplier;
+			return (int) wait;
+		}
+
+		/**
+		 * 获取已重试次数
+		 *
+		 * @return 重试次数
+		 */
+		public int count() {
+			return count;
+		}
+
+	}
+
+}
@@ -3,8 +3,13 @@ package org.haic.often.parser;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.exception.JSONException;
 
+import java.nio.CharBuffer;
+import java.util.function.IntConsumer;
+
 /**
- * 用于存储StringBuilder和位置下标
+ * 用于存储字符序列和位置下标
+ * <p>
+ * 数据可以为任意 {@link CharSequence} (例: String, StringBuilder, CharBuffer)或 char[],无需预先复制为字符串
  *
  * @author haicdust
  * @version 1.0
@@ -12,21 +17,57 @@ import org.haic.often.exception.JSONException;
  */
 public class ParserStringBuilder {
 
-	private final String body;
+	private static final int MAX_SCRATCH_CAPACITY = 1 << 16; // 超过此容量的临时缓冲区不再重用
+	private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+	private final CharSequence body;
+	private final String str; // 数据为字符串时使用字符串方法
 	private int index;
 	private int length;
 
 	public ParserStringBuilder(@NotNull String body) {
+		this((CharSequence) body);
+	}
+
+	public ParserStringBuilder(@NotNull CharSequence body) {
 		this.body = body;
+		this.str = body instanceof String s ? s : null;
 		this.length = body.length();
 	}
 
+	public ParserStringBuilder(@NotNull char[] body) {
+		this(CharBuffer.wrap(body));
+	}
+
+	public ParserStringBuilder(@NotNull char[] body, int offset, int count) {
+		this(CharBuffer.wrap(body, offset, count).slice());
+	}
+
+	/**
+	 * 获取当前线程的临时缓冲区,内容已清空
+	 * <p>
+	 * 仅用于本类中拼接转义后的值,拼接过程中不会调用其它使用临时缓冲区的方法,因此不存在重入问题
+	 *
+	 * @return 临时缓冲区
+	 */
+	private static StringBuilder scratch() {
+		var sb = SCRATCH.get();
+		if (sb.capacity() > MAX_SCRATCH_CAPACITY) SCRATCH.set(sb = new StringBuilder(64)); // 避免长期占用大块内存
+		sb.setLength(0);
+		return sb;
+	}
+
 	public boolean startsWith(String prefix) {
-		return body.startsWith(prefix, index);
+		return startsWith(prefix, index);
 	}
 
 	public boolean startsWith(String prefix, int index) {
-		return body.startsWith(prefix, index);
+		if (str != null) return str.startsWith(prefix, index);
+		if (index < 0 || index > body.length() - prefix.length()) return false;
+		for (int i = 0; i < prefix.length(); i++) {
+			if (body.charAt(index + i) != prefix.charAt(i)) return false;
+		}
+		return true;
 	}
 
 	public char charAt() {
@@ -56,27 +97,37 @@ public class ParserStringBuilder {
 	}
 
 	public int indexOf(@NotNull String str) {
-		return body.indexOf(str, index);
+		return indexOf(str, index);
 	}
 
 	public int indexOf(@NotNull String str, int fromIndex) {
-		return body.indexOf(str, fromIndex);
+		if (this.str != null) return this.str.indexOf(str, fromIndex);
+		if (str.isEmpty()) return Math.min(Math.max(fromIndex, 0), body.length());
+		var first = str.charAt(0);
+		for (int i = Math.max(fromIndex, 0), max = body.length() - str.length(); i <= max; i++) {
+			if (body.charAt(i) == first && startsWith(str, i)) return i;
+		}
+		return -1;
 	}
 
 	public int lastIndexOf(@NotNull String str) {
-		return body.lastIndexOf(str, length - 1);
+		return lastIndexOf(str, length - 1);
 	}
 
 	public int lastIndexOf(@NotNull String str, int fromIndex) {
-		return body.lastIndexOf(str, fromIndex);
+		if (this.str != null) return this.str.lastIndexOf(str, fromIndex);
+		for (int i = Math.min(fromIndex, body.length() - str.length()); i >= 0; i--) {
+			if (startsWith(str, i)) return i;
+		}
+		return -1;
 	}
 
 	public String substring(int start) {
-		return body.substring(start, length);
+		return substring(start, length);
 	}
 
 	public String substring(int start, int end) {
-		return body.substring(start, end);
+		return str != null ? str.substring(start, end) : body.subSequence(start, end).toString();
 	}
 
 	/**
@@ -89,37 +140,126 @@ public class ParserStringBuilder {
 	}
 
 	public String intercept(char eof) {
-		var sb = new StringBuilder();
-		for (char c = body.charAt(++index); c != eof; c = body.charAt(++index)) sb.append(c == '\\' ? interceptChar() : c);
-		return sb.toString();
+		int start = index + 1;
+		for (char c = body.charAt(++index); c != eof; c = body.charAt(++index)) {
+			if (c == '\\') return interceptEscaped(start, eof); // 存在转义符时使用临时缓冲区
+		}
+		return substring(start, index);
 	}
 
 	public String interceptOrEof(char eof) {
-		var sb = new StringBuilder();
+		int start = index + 1;
 		while (++index < length) {
 			var c = body.charAt(index);
 			if (c == eof) break;
-			sb.append(c == '\\' ? interceptChar() : c);
+			if (c == '\\') {
+				var sb = scratch().append(body, start, index);
+				for (index--; ++index < length; ) {
+					c = body.charAt(index);
+					if (c == eof) break;
+					sb.append(c == '\\' ? interceptChar() : c);
+				}
+				return sb.toString();
+			}
 		}
+		return substring(start, Math.min(index, length));
+	}
+
+	private String interceptEscaped(int start, char eof) {
+		var sb = scratch().append(body, start, index);
+		for (char c = body.charAt(index); c != eof; c = body.charAt(++index)) sb.append(c == '\\' ? interceptChar() : c);
 		return sb.toString();
 	}
 
+	/**
+	 * 宽松模式截取字符串,与 {@link #intercept(char)} 相同,但转义符错误时不会抛出异常
+	 * <p>
+	 * 未知的转义符保留为字符本身(例: \\d 为 d),格式错误的 \\u, \\x, \\0 转义保留原始文本,出错的转义符位置会传递给回调
+	 *
+	 * @param eof     结束符号
+	 * @param invalid 转义符错误时的回调,参数为转义符'\\'的位置
+	 * @return 字符串
+	 */
+	public String intercept(char eof, @NotNull IntConsumer invalid) {
+		int start = index + 1;
+		for (char c = body.charAt(++index); c != eof; c = body.charAt(++index)) {
+			if (c == '\\') {
+				var sb = scratch().append(body, start, index);
+				for (; c != eof; c = body.charAt(++index)) {
+					if (c == '\\') appendEscaped(sb, invalid);
+					else sb.append(c);
+				}
+				return sb.toString();
+			}
+		}
+		return substring(start, index);
+	}
+
+	private void appendEscaped(@NotNull StringBuilder sb, @NotNull IntConsumer invalid) {
+		int at = index;
+		var c = body.charAt(++index);
+		int radix = 16, digits;
+		switch (c) {
+			case 'u' -> digits = 4;
+			case 'x' -> digits = 2;
+			case '0' -> {
+				radix = 8;
+				digits = 2;
+			}
+			default -> {
+				int e = unescape(c);
+				if (e == -1) invalid.accept(at); // 未知转义符保留字符本身
+				sb.append(e == -1 ? c : (char) e);
+				return;
+			}
+		}
+		if (index + digits < length) {
+			int value = 0;
+			for (int i = index + 1; i <= index + digits && value != -1; i++) {
+				int d = Character.digit(body.charAt(i), radix);
+				value = d == -1 ? -1 : value * radix + d;
+			}
+			if (value != -1) {
+				index += digits;
+				sb.append((char) value);
+				return;
+			}
+		}
+		invalid.accept(at); // 格式错误,保留原始文本
+		sb.append('\\').append(c);
+	}
+
 	private char interceptChar() {
-		switch (body.charAt(++index)) {
-			case 'u' -> {return (char) Integer.parseInt(body.substring(++index, (index += 3) + 1), 16);}
-			case '\\' -> {return '\\';}
-			case '/' -> {return '/';}
-			case '\'' -> {return '\'';}
-			case '"' -> {return '"';}
-			case 'r' -> {return '\r';}
-			case 'n' -> {return '\n';}
-			case 't' -> {return '\t';}
-			case 'f' -> {return '\f';}
-			case 'b' -> {return '\b';}
-			case '0' -> {return (char) Integer.parseInt(body.substring(++index, ++index + 1), 8);}
-			case 'x' -> {return (char) Integer.parseInt(body.substring(++index, ++index + 1), 16);}
-			default -> throw new JSONException("存在非法转义字符: \\" + body.charAt(index));
+		var c = body.charAt(++index);
+		switch (c) {
+			case 'u' -> {return (char) Integer.parseInt(body, ++index, (index += 3) + 1, 16);}
+			case '0' -> {return (char) Integer.parseInt(body, ++index, ++index + 1, 8);}
+			case 'x' -> {return (char) Integer.parseInt(body, ++index, ++index + 1, 16);}
 		}
+		int e = unescape(c);
+		if (e == -1) throw new JSONException("存在非法转义字符: \\" + c);
+		return (char) e;
+	}
+
+	/**
+	 * 获取单字符转义符对应的字符
+	 *
+	 * @param c 转义符'\\'之后的字符
+	 * @return 对应的字符, 未知的转义符返回-1
+	 */
+	private static int unescape(char c) {
+		return switch (c) {
+			case '\\' -> '\\';
+			case '/' -> '/';
+			case '\'' -> '\'';
+			case '"' -> '"';
+			case 'r' -> '\r';
+			case 'n' -> '\n';
+			case 't' -> '\t';
+			case 'f' -> '\f';
+			case 'b' -> '\b';
+			default -> -1;
+		};
 	}
 
 	/**
@@ -149,7 +289,7 @@ public class ParserStringBuilder {
 
 	@Override
 	public String toString() {
-		return body;
+		return body.toString();
 	}
 
 }
@@ -1,10 +1,10 @@
 package org.haic.often.parser.csv;
 
 import org.haic.often.annotations.NotNull;
-import org.haic.often.parser.ParserStringBuilder;
 import org.haic.often.util.TypeReference;
 import org.haic.often.util.TypeUtil;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -25,11 +25,18 @@ public class CSV extends ArrayList<CSVNode> {
 	}
 
 	public CSV(@NotNull String body) {
-		var node = new ParserStringBuilder(body).strip();
-		while (node.isNoOutBounds()) {
-			this.add(new CSVNode(node));
-			node.offset(1);
-		}
+		this(body, CSVDialect.DEFAULT);
+	}
+
+	/**
+	 * 按照指定格式解析CSV数据
+	 *
+	 * @param body    CSV数据
+	 * @param dialect CSV格式
+	 */
+	public CSV(@NotNull String body, @NotNull CSVDialect dialect) {
+		var reader = new CSVReader(new StringReader(body.strip())).dialect(dialect);
+		while (reader.next()) this.add(reader.row());
 	}
 
 	/**
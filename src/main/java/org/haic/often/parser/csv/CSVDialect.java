@@ -0,0 +1,229 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+/**
+ * CSV格式,指定分隔符,引号和转义字符
+ * <p>
+ * 未指定转义字符时,值中的引号使用两个引号表示(RFC 4180),指定转义字符时,转义字符之后的一个字符按原样读取
+ * <p>
+ * 使用方法: CSVReader.of(in).dialect(CSVDialect.TSV) 或 CSVDialect.of(';')
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 21:20
+ */
+public final class CSVDialect {
+
+	/**
+	 * 表示不使用引号或转义字符
+	 */
+	public static final char NONE = '\0';
+
+	/**
+	 * 默认格式: ',' 分隔, '"' 包裹, '""' 表示引号
+	 */
+	public static final CSVDialect DEFAULT = new CSVDialect(',', '"', NONE);
+
+	/**
+	 * 制表符分隔格式: '\t' 分隔,不使用引号和转义字符,值中不能包含制表符和换行符
+	 */
+	public static final CSVDialect TSV = new CSVDialect('\t', NONE, NONE);
+
+	/**
+	 * 分号分隔格式,常见于使用 ',' 作为小数点的地区
+	 */
+	public static final CSVDialect SEMICOLON = new CSVDialect(';', '"', NONE);
+
+	private final char delimiter;
+	private final char quote;
+	private final char escape;
+	private final long mask; // 码点小于64的特殊字符
+	private final boolean low; // 特殊字符的码点是否均小于64
+
+	private CSVDialect(char delimiter, char quote, char escape) {
+		if (delimiter == NONE || delimiter == '\r' || delimiter == '\n') throw new IllegalArgumentException("分隔符不能为换行符或空字符");
+		if (delimiter == quote || delimiter == escape) throw new IllegalArgumentException("分隔符不能与引号或转义字符相同");
+		if (quote == '\r' || quote == '\n' || escape == '\r' || escape == '\n') throw new IllegalArgumentException("引号和转义字符不能为换行符");
+		if (escape == quote) escape = NONE; // 与引号相同时等同于 '""'
+		this.delimiter = delimiter;
+		this.quote = quote;
+		this.escape = escape;
+		long mask = 0;
+		var low = true;
+		for (var c : new char[]{delimiter, quote, escape, '\r', '\n'}) {
+			if (c == NONE) continue;
+			if (c < 64) mask |= 1L << c;
+			else low = false;
+		}
+		this.mask = mask;
+		this.low = low;
+	}
+
+	/**
+	 * 获取使用指定分隔符的格式,其余规则与 {@link #DEFAULT} 相同
+	 *
+	 * @param delimiter 分隔符
+	 * @return 格式
+	 */
+	public static CSVDialect of(char delimiter) {
+		return of(delimiter, '"', NONE);
+	}
+
+	/**
+	 * 获取指定格式
+	 *
+	 * @param delimiter 分隔符
+	 * @param quote     引号, {@link #NONE} 表示不使用引号
+	 * @param escape    转义字符, {@link #NONE} 表示使用两个引号表示引号
+	 * @return 格式
+	 */
+	public static CSVDialect of(char delimiter, char quote, char escape) {
+		return new CSVDialect(delimiter, quote, escape);
+	}
+
+	/**
+	 * 获取分隔符
+	 *
+	 * @return 分隔符
+	 */
+	public char delimiter() {
+		return delimiter;
+	}
+
+	/**
+	 * 获取引号
+	 *
+	 * @return 引号,不使用时为 {@link #NONE}
+	 */
+	public char quote() {
+		return quote;
+	}
+
+	/**
+	 * 获取转义字符
+	 *
+	 * @return 转义字符,不使用时为 {@link #NONE}
+	 */
+	public char escape() {
+		return escape;
+	}
+
+	/**
+	 * 获取使用指定分隔符的新格式
+	 *
+	 * @param delimiter 分隔符
+	 * @return 新格式
+	 */
+	public CSVDialect withDelimiter(char delimiter) {
+		return new CSVDialect(delimiter, quote, escape);
+	}
+
+	/**
+	 * 获取使用指定引号的新格式
+	 *
+	 * @param quote 引号
+	 * @return 新格式
+	 */
+	public CSVDialect withQuote(char quote) {
+		return new CSVDialect(delimiter, quote, escape);
+	}
+
+	/**
+	 * 获取使用指定转义字符的新格式
+	 *
+	 * @param escape 转义字符
+	 * @return 新格式
+	 */
+	public CSVDialect withEscape(char escape) {
+		return new CSVDialect(delimiter, quote, escape);
+	}
+
+	/**
+	 * 获取值中实际使用的转义字符,未指定转义字符时为引号
+	 *
+	 * @return 转义字符
+	 */
+	char escapeChar() {
+		return escape != NONE ? escape : quote;
+	}
+
+	/**
+	 * 判断是否为特殊字符(分隔符,引号,转义字符,换行符)
+	 *
+	 * @param c 字符
+	 * @return 判断结果
+	 */
+	boolean isSpecial(char c) {
+		return c == delimiter || c == '\r' || c == '\n' || c != NONE && (c == quote || c == escape);
+	}
+
+	/**
+	 * 在未包裹的字段中查找下一个特殊字符(分隔符,引号,转义字符,换行符)
+	 * <p>
+	 * 特殊字符的码点均小于64时按位查找,码点不小于64的字符(字母,汉字等)只需一次比较即可跳过
+	 *
+	 * @param buffer 缓冲区
+	 * @param from   起始位置
+	 * @param to     结束位置(不包含)
+	 * @return 特殊字符位置,不存在时返回结束位置
+	 */
+	int indexOfSpecial(char[] buffer, int from, int to) {
+		int i = from;
+		if (low) {
+			long mask = this.mask;
+			for (; i < to; i++) {
+				char c = buffer[i];
+				if (c < 64 && (mask >>> c & 1) != 0) return i;
+			}
+			return to;
+		}
+		while (i < to && !isSpecial(buffer[i])) i++;
+		return i;
+	}
+
+	/**
+	 * 在引号包裹的字段中查找下一个引号或转义字符
+	 *
+	 * @param buffer 缓冲区
+	 * @param from   起始位置
+	 * @param to     结束位置(不包含)
+	 * @return 引号或转义字符位置,不存在时返回结束位置
+	 */
+	int indexOfQuote(char[] buffer, int from, int to) {
+		char quote = this.quote;
+		char escape = escapeChar();
+		int i = from;
+		while (i < to && buffer[i] != quote && buffer[i] != escape) i++;
+		return i;
+	}
+
+	/**
+	 * 判断值是否需要使用引号包裹或转义
+	 *
+	 * @param field 值
+	 * @return 判断结果
+	 */
+	boolean needsQuote(@NotNull String field) {
+		if (field.isEmpty()) return false;
+		if (quote != NONE && (Character.isWhitespace(field.charAt(0)) || Character.isWhitespace(field.charAt(field.length() - 1)))) return true; // 首尾空白在读取时可能被去除
+		for (int i = 0; i < field.length(); i++) if (isSpecial(field.charAt(i))) return true;
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof CSVDialect d && d.delimiter == delimiter && d.quote == quote && d.escape == escape;
+	}
+
+	@Override
+	public int hashCode() {
+		return delimiter * 31 * 31 + quote * 31 + escape;
+	}
+
+	@Override
+	public String toString() {
+		return "CSVDialect[delimiter=" + delimiter + ", quote=" + quote + ", escape=" + escape + "]";
+	}
+
+}
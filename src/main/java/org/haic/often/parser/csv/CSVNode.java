@@ -5,11 +5,12 @@ import org.haic.often.parser.ParserStringBuilder;
 import org.haic.often.util.TypeReference;
 import org.haic.often.util.TypeUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * CSV子节点
@@ -25,9 +26,10 @@ public class CSVNode extends ArrayList<String> {
 	}
 
 	public CSVNode(@NotNull ParserStringBuilder node) {
+		var sb = new StringBuilder(); // 当前行所有字段共用
 		while (node.isNoOutBounds()) {
 			char c = node.charAt();
-			var sb = new StringBuilder();
+			sb.setLength(0);
 			if (c == '"') {
 				while (node.offset(1).isNoOutBounds()) {
 					char n = node.charAt();
@@ -41,7 +43,7 @@ public class CSVNode extends ArrayList<String> {
 								break;
 							} else if (next == '\r') {
 								this.add(sb.toString());
-								if (node.charAt(node.pos() + 1) == '\n') node.offset(1);
+								if (node.pos() + 1 < node.length() && node.charAt(node.pos() + 1) == '\n') node.offset(1);
 								return;
 							} else if (next == '\n') {
 								this.add(sb.toString());
@@ -76,7 +78,7 @@ public class CSVNode extends ArrayList<String> {
 						break;
 					} else if (n == '\r') {
 						this.add(sb.toString());
-						if (node.charAt(node.pos() + 1) == '\n') node.offset(1);
+						if (node.pos() + 1 < node.length() && node.charAt(node.pos() + 1) == '\n') node.offset(1);
 						return;
 					} else if (n == '\n') {
 						this.add(sb.toString());
@@ -86,7 +88,9 @@ public class CSVNode extends ArrayList<String> {
 					}
 					node.offset(1);
 				}
+				if (!node.isNoOutBounds()) this.add(sb.toString()); // 数据结束时的最后一个值
 			}
+			if (node.isNoOutBounds() && node.charAt() == ',' && node.pos() + 1 == node.length()) this.add(""); // 数据以分隔符结束时的空值
 			node.offset(1);
 		}
 	}
@@ -232,7 +236,16 @@ public class CSVNode extends ArrayList<String> {
 
 	@Override
 	public String toString() {
-		return this.stream().map(l -> '"' + l.replaceAll("\"", "\"\"") + '"').collect(Collectors.joining(","));
+		var sb = new StringBuilder();
+		for (int i = 0; i < size(); i++) {
+			if (i > 0) sb.append(',');
+			try {
+				CSVWriter.appendField(sb, get(i), true);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e); // StringBuilder不会发生异常
+			}
+		}
+		return sb.toString();
 	}
 
 }
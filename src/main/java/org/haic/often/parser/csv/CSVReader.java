@@ -0,0 +1,400 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 流式CSV读取器,逐行读取,内存占用只与单行长度有关
+ * <p>
+ * 默认引号规则与 {@link CSVNode} 一致: 字段可以使用 '"' 包裹,值中的 '"' 使用 '""' 表示,未包裹的字段中同样只允许出现 '""',其它格式通过 {@link #dialect(CSVDialect)} 指定
+ * <p>
+ * 当前行的字段以位置区间的形式保存在可重用的缓冲区中,只有在获取字段值时才会创建字符串
+ * <p>
+ * 使用方法: while (reader.next()) reader.get(0); 或 for (var row : reader) ...
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 19:10
+ */
+public class CSVReader implements Iterable<CSVNode>, Closeable {
+
+	private static final int DEFAULT_BUFFER_SIZE = 8192; // 缓冲区大小
+
+	private final Reader reader;
+	private CSVDialect dialect = CSVDialect.DEFAULT;
+	private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+	private int pos; // 下一行起始位置
+	private int limit;
+	private long offset; // 缓冲区起始位置在数据中的索引
+	private boolean eof;
+	private int[] bounds = new int[32]; // 字段起始和结束位置交替存放
+	private boolean[] escaped = new boolean[16]; // 字段是否包含转义字符
+	private int size; // 当前行字段数量
+	private long rows; // 已读取行数
+	private char[] chars = new char[64]; // 拼接转义后的值
+
+	public CSVReader(@NotNull Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * 以UTF-8编码从输入流中读取
+	 *
+	 * @param in 输入流
+	 * @return 读取器
+	 */
+	public static CSVReader of(@NotNull InputStream in) {
+		return of(in, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 以指定编码从输入流中读取
+	 *
+	 * @param in      输入流
+	 * @param charset 字符集编码格式
+	 * @return 读取器
+	 */
+	public static CSVReader of(@NotNull InputStream in, @NotNull Charset charset) {
+		return new CSVReader(new InputStreamReader(in, charset));
+	}
+
+	/**
+	 * 从字符流中读取
+	 *
+	 * @param reader 字符流
+	 * @return 读取器
+	 */
+	public static CSVReader of(@NotNull Reader reader) {
+		return new CSVReader(reader);
+	}
+
+	/**
+	 * 设置 CSV格式,需要在读取之前设置,默认为 {@link CSVDialect#DEFAULT}
+	 *
+	 * @param dialect CSV格式
+	 * @return this
+	 */
+	public CSVReader dialect(@NotNull CSVDialect dialect) {
+		this.dialect = dialect;
+		return this;
+	}
+
+	/**
+	 * 读取下一行,上一行的字段将失效
+	 *
+	 * @return 是否存在下一行
+	 */
+	public boolean next() {
+		try {
+			return parseRow();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 读取下一行并写入指定的行对象,行对象原有内容将被清空,可重复使用同一个行对象
+	 *
+	 * @param row 行对象
+	 * @return 是否存在下一行
+	 */
+	public boolean read(@NotNull CSVNode row) {
+		if (!next()) return false;
+		row.clear();
+		for (int i = 0; i < size; i++) row.add(get(i));
+		return true;
+	}
+
+	/**
+	 * 获取当前行的字段数量
+	 *
+	 * @return 字段数量
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 获取已读取的行数
+	 *
+	 * @return 行数
+	 */
+	public long rows() {
+		return rows;
+	}
+
+	/**
+	 * 获取当前行指定索引的字段值
+	 *
+	 * @param i 字段索引
+	 * @return 值
+	 */
+	public String get(int i) {
+		Objects.checkIndex(i, size);
+		int start = bounds[i << 1];
+		int end = bounds[(i << 1) + 1];
+		if (!escaped[i]) return new String(buffer, start, end - start);
+		if (chars.length < end - start) chars = new char[end - start];
+		char esc = dialect.escapeChar();
+		int from = start;
+		int n = 0;
+		for (int j = start; j < end; j++) {
+			if (buffer[j] != esc) continue;
+			System.arraycopy(buffer, from, chars, n, j - from); // 整段复制转义字符之前的内容
+			n += j - from;
+			from = ++j; // 跳过转义字符,其后的字符作为下一段的开始
+		}
+		System.arraycopy(buffer, from, chars, n, end - from);
+		return new String(chars, 0, n + end - from);
+	}
+
+	/**
+	 * 将当前行转换为 {@link CSVNode}
+	 *
+	 * @return 行数据
+	 */
+	public CSVNode row() {
+		var row = new CSVNode();
+		for (int i = 0; i < size; i++) row.add(get(i));
+		return row;
+	}
+
+	/**
+	 * 获取当前行的视图,视图始终指向当前行,可在读取过程中重复使用
+	 *
+	 * @return 行视图
+	 */
+	public CSVRow view() {
+		return new CSVRow(this);
+	}
+
+	/**
+	 * 获取剩余行的迭代器,每次迭代创建新的行对象
+	 *
+	 * @return 迭代器
+	 */
+	@NotNull
+	@Override
+	public Iterator<CSVNode> iterator() {
+		return new Iterator<>() {
+			private CSVNode next;
+
+			public boolean hasNext() {
+				if (next == null && CSVReader.this.next()) next = row();
+				return next != null;
+			}
+
+			public CSVNode next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				var row = next;
+				next = null;
+				return row;
+			}
+		};
+	}
+
+	/**
+	 * 获取剩余行的流,流关闭时将关闭读取器
+	 *
+	 * @return 行数据流
+	 */
+	public Stream<CSVNode> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+	}
+
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 获取当前行指定字段的起始位置,位于 {@link #buffer()} 中
+	 *
+	 * @param i 字段索引
+	 * @return 起始位置
+	 */
+	int start(int i) {
+		return bounds[i << 1];
+	}
+
+	/**
+	 * 获取当前行指定字段的结束位置(不包含),位于 {@link #buffer()} 中
+	 *
+	 * @param i 字段索引
+	 * @return 结束位置
+	 */
+	int end(int i) {
+		return bounds[(i << 1) + 1];
+	}
+
+	/**
+	 * 获取当前CSV格式
+	 *
+	 * @return CSV格式
+	 */
+	CSVDialect dialect() {
+		return dialect;
+	}
+
+	/**
+	 * 判断当前行指定字段是否包含转义字符
+	 *
+	 * @param i 字段索引
+	 * @return 判断结果
+	 */
+	boolean isEscaped(int i) {
+		return escaped[i];
+	}
+
+	/**
+	 * 获取当前缓冲区,读取下一行后可能发生变化
+	 *
+	 * @return 缓冲区
+	 */
+	char[] buffer() {
+		return buffer;
+	}
+
+	/**
+	 * 解析下一行,字段位置写入 bounds
+	 *
+	 * @return 是否存在下一行
+	 */
+	private boolean parseRow() throws IOException {
+		size = 0;
+		if (pos >= buffer.length >>> 1 && !eof) { // 已读取超过一半时将未读取的数据移动至缓冲区起始位置,每个字符平均只移动一次
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			offset += pos;
+			limit -= pos;
+			pos = 0;
+		}
+		if (rows == 0 && charAt(pos) == '\uFEFF') pos++; // 去除特殊符号
+		int i = pos;
+		if (charAt(i) == -1) return false;
+		char delimiter = dialect.delimiter();
+		char quote = dialect.quote();
+		char esc = dialect.escapeChar();
+		while (true) {
+			int c = charAt(i);
+			int start;
+			int end;
+			var isEscaped = false;
+			if (c == quote && quote != CSVDialect.NONE) {
+				start = ++i;
+				while (true) {
+					c = charAt(i = scanQuoted(i));
+					if (c == -1) throw new IllegalStateException("索引 " + (offset + i) + " 处引号未闭合");
+					if (c == esc) {
+						if (esc == quote && charAt(i + 1) != quote) break;
+						if (charAt(i + 1) == -1) throw new IllegalStateException("索引 " + (offset + i + 1) + " 处引号未闭合");
+						isEscaped = true;
+						i += 2;
+					} else if (c == quote) {
+						break;
+					} else {
+						i++;
+					}
+				}
+				end = i++;
+				c = charAt(i);
+				if (c != delimiter && c != '\r' && c != '\n' && c != -1) throw new IllegalStateException("索引 " + (offset + i) + " 处期待值不为 '" + quote + "' 或 '" + delimiter + "'");
+			} else {
+				start = i;
+				while (true) {
+					c = charAt(i = scan(i));
+					if (c == delimiter || c == '\r' || c == '\n' || c == -1) break;
+					if (c == esc && esc != CSVDialect.NONE) {
+						if (esc == quote ? charAt(i + 1) != quote : charAt(i + 1) == -1) throw new IllegalStateException("索引 " + (offset + i + 1) + " 处期待值不为 '" + quote + "'");
+						isEscaped = true;
+						i += 2;
+					} else if (c == quote && quote != CSVDialect.NONE) {
+						throw new IllegalStateException("索引 " + (offset + i + 1) + " 处期待值不为 '" + quote + "'");
+					} else {
+						i++;
+					}
+				}
+				end = i;
+			}
+			addField(start, end, isEscaped);
+			if (c == delimiter) {
+				i++;
+				if (charAt(i) == -1) { // 数据以分隔符结束时的空值
+					addField(i, i, false);
+					break;
+				}
+				continue;
+			}
+			if (c == '\r' && charAt(i + 1) == '\n') i++;
+			if (c != -1) i++;
+			break;
+		}
+		pos = i;
+		rows++;
+		return true;
+	}
+
+	/**
+	 * 从指定位置查找下一个特殊字符,缓冲区内的数据查找完毕时继续读取
+	 *
+	 * @param i 起始位置
+	 * @return 特殊字符位置,数据结束时为数据结束位置
+	 */
+	private int scan(int i) throws IOException {
+		while ((i = dialect.indexOfSpecial(buffer, i, limit)) == limit && charAt(i) != -1) ;
+		return i;
+	}
+
+	/**
+	 * 从指定位置查找下一个引号或转义字符,缓冲区内的数据查找完毕时继续读取
+	 *
+	 * @param i 起始位置
+	 * @return 引号或转义字符位置,数据结束时为数据结束位置
+	 */
+	private int scanQuoted(int i) throws IOException {
+		while ((i = dialect.indexOfQuote(buffer, i, limit)) == limit && charAt(i) != -1) ;
+		return i;
+	}
+
+	private void addField(int start, int end, boolean isEscaped) {
+		if (size << 1 == bounds.length) {
+			bounds = Arrays.copyOf(bounds, bounds.length << 1);
+			escaped = Arrays.copyOf(escaped, escaped.length << 1);
+		}
+		bounds[size << 1] = start;
+		bounds[(size << 1) + 1] = end;
+		escaped[size++] = isEscaped;
+	}
+
+	/**
+	 * 获取缓冲区中指定位置的字符,超出已读取数据时继续读取,缓冲区不足时扩容
+	 *
+	 * @param i 位置
+	 * @return 字符,数据结束时返回-1
+	 */
+	private int charAt(int i) throws IOException {
+		while (i >= limit) {
+			if (eof) return -1;
+			if (limit == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			int n = reader.read(buffer, limit, buffer.length - limit);
+			if (n == -1) eof = true;
+			else limit += n;
+		}
+		return buffer[i];
+	}
+
+}
@@ -0,0 +1,315 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * CSV行视图,直接引用 {@link CSVReader} 缓冲区中的字段位置,只有在获取字符串时才会创建对象
+ * <p>
+ * 视图始终指向读取器的当前行,读取下一行后之前获取的字段片段将失效,需要保留时使用 {@link #get(int)} 或 {@link #toNode()}
+ * <p>
+ * 使用方法: var row = reader.view(); while (reader.next()) if (row.fieldEquals(2, "ok")) sum += row.parseLongField(3);
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 20:55
+ */
+public final class CSVRow {
+
+	private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22}; // 可精确表示的10的幂
+
+	private final CSVReader reader;
+
+	CSVRow(@NotNull CSVReader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * 获取当前行的字段数量
+	 *
+	 * @return 字段数量
+	 */
+	public int size() {
+		return reader.size();
+	}
+
+	/**
+	 * 获取当前行指定索引的字段片段,不复制数据,包含转义引号的字段将创建字符串
+	 *
+	 * @param i 字段索引
+	 * @return 字段片段
+	 */
+	public CharSequence field(int i) {
+		Objects.checkIndex(i, reader.size());
+		if (reader.isEscaped(i)) return reader.get(i);
+		return new Slice(reader.buffer(), reader.start(i), reader.end(i));
+	}
+
+	/**
+	 * 获取当前行指定索引的字段值
+	 *
+	 * @param i 字段索引
+	 * @return 值
+	 */
+	public String get(int i) {
+		return reader.get(i);
+	}
+
+	/**
+	 * 获取指定字段的长度(转义前)
+	 *
+	 * @param i 字段索引
+	 * @return 长度
+	 */
+	public int fieldLength(int i) {
+		Objects.checkIndex(i, reader.size());
+		return reader.end(i) - reader.start(i);
+	}
+
+	/**
+	 * 判断指定字段是否为空值
+	 *
+	 * @param i 字段索引
+	 * @return 判断结果
+	 */
+	public boolean isEmpty(int i) {
+		return fieldLength(i) == 0;
+	}
+
+	/**
+	 * 判断指定字段值是否与指定字符序列相同,不创建字符串
+	 *
+	 * @param i 字段索引
+	 * @param s 字符序列
+	 * @return 判断结果
+	 */
+	public boolean fieldEquals(int i, @NotNull CharSequence s) {
+		Objects.checkIndex(i, reader.size());
+		var buffer = reader.buffer();
+		int start = reader.start(i);
+		int end = reader.end(i);
+		if (!reader.isEscaped(i)) {
+			if (end - start != s.length()) return false;
+			for (int j = 0; j < s.length(); j++) {
+				if (buffer[start + j] != s.charAt(j)) return false;
+			}
+			return true;
+		}
+		char esc = reader.dialect().escapeChar();
+		int j = 0;
+		for (int k = start; k < end; k++, j++) {
+			if (buffer[k] == esc) k++; // 跳过转义字符
+			if (j == s.length() || buffer[k] != s.charAt(j)) return false;
+		}
+		return j == s.length();
+	}
+
+	/**
+	 * 将指定字段解析为 long 类型,允许首尾空格
+	 *
+	 * @param i 字段索引
+	 * @return 值
+	 * @throws NumberFormatException 字段为空值或格式不正确
+	 */
+	public long parseLongField(int i) {
+		Objects.checkIndex(i, reader.size());
+		if (isBlank(i)) throw error(i);
+		return parseLong(i);
+	}
+
+	/**
+	 * 将指定字段解析为 long 类型,允许首尾空格
+	 *
+	 * @param i            字段索引
+	 * @param defaultValue 字段为空值时的默认值
+	 * @return 值
+	 * @throws NumberFormatException 字段格式不正确
+	 */
+	public long parseLongField(int i, long defaultValue) {
+		Objects.checkIndex(i, reader.size());
+		return isBlank(i) ? defaultValue : parseLong(i);
+	}
+
+	/**
+	 * 将指定字段解析为 int 类型,允许首尾空格
+	 *
+	 * @param i 字段索引
+	 * @return 值
+	 * @throws NumberFormatException 字段为空值,格式不正确或超出 int 范围
+	 */
+	public int parseIntField(int i) {
+		long value = parseLongField(i);
+		if (value != (int) value) throw error(i);
+		return (int) value;
+	}
+
+	/**
+	 * 将指定字段解析为 int 类型,允许首尾空格
+	 *
+	 * @param i            字段索引
+	 * @param defaultValue 字段为空值时的默认值
+	 * @return 值
+	 * @throws NumberFormatException 字段格式不正确或超出 int 范围
+	 */
+	public int parseIntField(int i, int defaultValue) {
+		long value = parseLongField(i, defaultValue);
+		if (value != (int) value) throw error(i);
+		return (int) value;
+	}
+
+	/**
+	 * 将指定字段解析为 double 类型,允许首尾空格
+	 *
+	 * @param i 字段索引
+	 * @return 值
+	 * @throws NumberFormatException 字段为空值或格式不正确
+	 */
+	public double parseDoubleField(int i) {
+		Objects.checkIndex(i, reader.size());
+		if (isBlank(i)) throw error(i);
+		return parseDouble(i);
+	}
+
+	/**
+	 * 将指定字段解析为 double 类型,允许首尾空格
+	 *
+	 * @param i            字段索引
+	 * @param defaultValue 字段为空值时的默认值
+	 * @return 值
+	 * @throws NumberFormatException 字段格式不正确
+	 */
+	public double parseDoubleField(int i, double defaultValue) {
+		Objects.checkIndex(i, reader.size());
+		return isBlank(i) ? defaultValue : parseDouble(i);
+	}
+
+	/**
+	 * 将当前行转换为 {@link CSVNode}
+	 *
+	 * @return 行数据
+	 */
+	public CSVNode toNode() {
+		return reader.row();
+	}
+
+	@Override
+	public String toString() {
+		return toNode().toString();
+	}
+
+	private boolean isBlank(int i) {
+		var buffer = reader.buffer();
+		for (int j = reader.start(i), end = reader.end(i); j < end; j++) {
+			if (buffer[j] != ' ') return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 从缓冲区解析整数,字段不为空
+	 */
+	private long parseLong(int index) {
+		var buffer = reader.buffer();
+		int start = reader.start(index);
+		int end = reader.end(index);
+		while (buffer[start] == ' ') start++;
+		while (buffer[end - 1] == ' ') end--;
+		int i = start;
+		var negative = buffer[i] == '-';
+		if (negative || buffer[i] == '+') i++;
+		if (i == end) throw error(index);
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = buffer[i] - '0';
+			if (digit < 0 || digit > 9) throw error(index);
+			if (value < (Long.MIN_VALUE + digit) / 10) throw error(index); // 溢出
+			value = value * 10 - digit; // 使用负数累加,以支持 Long.MIN_VALUE
+		}
+		if (negative) return value;
+		if (value == Long.MIN_VALUE) throw error(index);
+		return -value;
+	}
+
+	/**
+	 * 从缓冲区解析浮点数,字段不为空
+	 * <p>
+	 * 有效数字不超过15位且指数在 ±22 以内时直接计算(结果精确),其余情况交由 {@link Double#parseDouble(String)} 处理
+	 */
+	private double parseDouble(int index) {
+		var buffer = reader.buffer();
+		int start = reader.start(index);
+		int end = reader.end(index);
+		while (buffer[start] == ' ') start++;
+		while (buffer[end - 1] == ' ') end--;
+		int i = start;
+		var negative = buffer[i] == '-';
+		if (negative || buffer[i] == '+') i++;
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		var hasDigit = false;
+		for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++, hasDigit = true) {
+			if (digits < 18) {
+				mantissa = mantissa * 10 + buffer[i] - '0';
+				if (mantissa != 0) digits++;
+			} else {
+				exponent++;
+			}
+		}
+		if (i < end && buffer[i] == '.') {
+			for (i++; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++, hasDigit = true) {
+				if (digits < 18) {
+					mantissa = mantissa * 10 + buffer[i] - '0';
+					if (mantissa != 0) digits++;
+					exponent--;
+				}
+			}
+		}
+		if (!hasDigit || i != end || digits > 15 || exponent < -22 || exponent > 22) { // 指数形式, NaN, Infinity 等
+			try {
+				return Double.parseDouble(new String(buffer, start, end - start));
+			} catch (NumberFormatException e) {
+				throw error(index);
+			}
+		}
+		double value = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+		return negative ? -value : value;
+	}
+
+	private NumberFormatException error(int i) {
+		return new NumberFormatException("第 " + (reader.rows() - 1) + " 行第 " + i + " 列数值格式不正确: " + reader.get(i));
+	}
+
+	/**
+	 * 缓冲区片段
+	 */
+	private record Slice(char[] buffer, int start, int end) implements CharSequence {
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			Objects.checkIndex(index, end - start);
+			return buffer[start + index];
+		}
+
+		@NotNull
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			Objects.checkFromToIndex(start, end, this.end - this.start);
+			return new Slice(buffer, this.start + start, this.start + end);
+		}
+
+		@NotNull
+		@Override
+		public String toString() {
+			return new String(buffer, start, end - start);
+		}
+
+	}
+
+}
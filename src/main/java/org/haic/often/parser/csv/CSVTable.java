@@ -0,0 +1,351 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 列式CSV数据,按照指定的列类型直接解析为基本类型数组
+ * <p>
+ * 数值列通过 {@link CSVRow} 直接从读取缓冲区解析,不创建中间字符串,未在结构中声明的列将被跳过
+ * <p>
+ * 数值列中的空值: int 和 long 为 0, double 为 NaN; 空行将被跳过,字段数量不足的行缺少的列同样按空值处理, String 为 null
+ * <p>
+ * 使用方法: var table = CSVTable.schema().intColumn("id").doubleColumn("size").load(path); double[] sizes = table.getDoubles("size");
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 20:30
+ */
+public class CSVTable {
+
+	private final Map<String, Object> columns; // 列名称和数组
+	private final int rows;
+
+	private CSVTable(@NotNull Map<String, Object> columns, int rows) {
+		this.columns = columns;
+		this.rows = rows;
+	}
+
+	/**
+	 * 创建列结构
+	 *
+	 * @return 列结构
+	 */
+	public static Schema schema() {
+		return new Schema();
+	}
+
+	/**
+	 * 获取行数
+	 *
+	 * @return 行数
+	 */
+	public int rows() {
+		return rows;
+	}
+
+	/**
+	 * 获取所有列名称
+	 *
+	 * @return 列名称
+	 */
+	public Set<String> names() {
+		return Collections.unmodifiableSet(columns.keySet());
+	}
+
+	/**
+	 * 获取 int 类型列
+	 *
+	 * @param name 列名称
+	 * @return 列数据
+	 */
+	public int[] getInts(@NotNull String name) {
+		return column(name, int[].class);
+	}
+
+	/**
+	 * 获取 long 类型列
+	 *
+	 * @param name 列名称
+	 * @return 列数据
+	 */
+	public long[] getLongs(@NotNull String name) {
+		return column(name, long[].class);
+	}
+
+	/**
+	 * 获取 double 类型列
+	 *
+	 * @param name 列名称
+	 * @return 列数据
+	 */
+	public double[] getDoubles(@NotNull String name) {
+		return column(name, double[].class);
+	}
+
+	/**
+	 * 获取 String 类型列
+	 *
+	 * @param name 列名称
+	 * @return 列数据
+	 */
+	public String[] getStrings(@NotNull String name) {
+		return column(name, String[].class);
+	}
+
+	private <T> T column(@NotNull String name, @NotNull Class<T> type) {
+		var column = columns.get(name);
+		if (column == null) throw new IllegalArgumentException("不存在列 " + name);
+		if (!type.isInstance(column)) throw new IllegalArgumentException("列 " + name + " 的类型不为 " + type.getComponentType());
+		return type.cast(column);
+	}
+
+	/**
+	 * 列类型
+	 */
+	public enum Type {
+		INT, LONG, DOUBLE, STRING
+	}
+
+	/**
+	 * 列结构,列可以按照标题名称或索引指定
+	 */
+	public static class Schema {
+
+		private final List<Column> columns = new ArrayList<>();
+		private boolean header = true;
+
+		private Schema() {
+		}
+
+		/**
+		 * 设置 第一行是否为标题,默认true,按照名称指定的列需要标题
+		 *
+		 * @param header 第一行是否为标题
+		 * @return this
+		 */
+		public Schema header(boolean header) {
+			this.header = header;
+			return this;
+		}
+
+		/**
+		 * 添加按照标题名称指定的列,标题中存在多个同名列时读取将抛出异常,此时应按照索引指定
+		 *
+		 * @param name 标题名称
+		 * @param type 列类型
+		 * @return this
+		 */
+		public Schema column(@NotNull String name, @NotNull Type type) {
+			columns.add(new Column(name, -1, type));
+			return this;
+		}
+
+		/**
+		 * 添加按照索引指定的列,列名称为索引字符串
+		 *
+		 * @param index 列索引
+		 * @param type  列类型
+		 * @return this
+		 */
+		public Schema column(int index, @NotNull Type type) {
+			if (index < 0) throw new IllegalArgumentException("index Less than 0");
+			columns.add(new Column(String.valueOf(index), index, type));
+			return this;
+		}
+
+		/**
+		 * 添加按照标题名称指定的 int 类型列
+		 *
+		 * @param name 标题名称
+		 * @return this
+		 */
+		public Schema intColumn(@NotNull String name) {
+			return column(name, Type.INT);
+		}
+
+		/**
+		 * 添加按照标题名称指定的 long 类型列
+		 *
+		 * @param name 标题名称
+		 * @return this
+		 */
+		public Schema longColumn(@NotNull String name) {
+			return column(name, Type.LONG);
+		}
+
+		/**
+		 * 添加按照标题名称指定的 double 类型列
+		 *
+		 * @param name 标题名称
+		 * @return this
+		 */
+		public Schema doubleColumn(@NotNull String name) {
+			return column(name, Type.DOUBLE);
+		}
+
+		/**
+		 * 添加按照标题名称指定的 String 类型列
+		 *
+		 * @param name 标题名称
+		 * @return this
+		 */
+		public Schema stringColumn(@NotNull String name) {
+			return column(name, Type.STRING);
+		}
+
+		/**
+		 * 以UTF-8编码读取文件
+		 *
+		 * @param path 文件路径
+		 * @return 列式数据
+		 */
+		public CSVTable load(@NotNull Path path) {
+			return load(path, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * 以指定编码读取文件
+		 *
+		 * @param path    文件路径
+		 * @param charset 字符集编码格式
+		 * @return 列式数据
+		 */
+		public CSVTable load(@NotNull Path path, @NotNull Charset charset) {
+			try (var reader = Files.newBufferedReader(path, charset)) {
+				return load(reader);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/**
+		 * 从字符流中读取,读取结束后不会关闭字符流
+		 *
+		 * @param reader 字符流
+		 * @return 列式数据
+		 */
+		public CSVTable load(@NotNull Reader reader) {
+			return load(new CSVReader(reader));
+		}
+
+		/**
+		 * 从CSV读取器的当前位置读取剩余行
+		 *
+		 * @param reader CSV读取器
+		 * @return 列式数据
+		 */
+		public CSVTable load(@NotNull CSVReader reader) {
+			if (columns.isEmpty()) throw new IllegalStateException("未指定任何列");
+			var indexes = new int[columns.size()];
+			if (header) {
+				if (!reader.next()) return new Loader(this, indexes).table(); // 空数据
+				var names = new HashMap<String, Integer>();
+				for (int i = 0; i < reader.size(); i++) names.merge(reader.get(i).strip(), i, (a, b) -> -1); // 同名列标记为-1
+				for (int i = 0; i < indexes.length; i++) {
+					var column = columns.get(i);
+					var index = column.index != -1 ? Integer.valueOf(column.index) : names.get(column.name);
+					if (index == null) throw new IllegalArgumentException("标题中不存在列 " + column.name);
+					if (index == -1) throw new IllegalArgumentException("标题中存在多个同名列 " + column.name + ",请按照索引指定");
+					indexes[i] = index;
+				}
+			} else {
+				for (int i = 0; i < indexes.length; i++) {
+					var column = columns.get(i);
+					if (column.index == -1) throw new IllegalStateException("没有标题时只能按照索引指定列: " + column.name);
+					indexes[i] = column.index;
+				}
+			}
+			var loader = new Loader(this, indexes);
+			var row = reader.view();
+			while (reader.next()) {
+				if (row.size() == 1 && row.isEmpty(0)) continue; // 空行
+				loader.add(row);
+			}
+			return loader.table();
+		}
+
+	}
+
+	private record Column(String name, int index, Type type) {}
+
+	/**
+	 * 按行写入各列数组
+	 */
+	private static class Loader {
+
+		private final List<Column> columns;
+		private final int[] indexes; // 各列在行中的索引
+		private final Object[] arrays;
+		private int rows;
+		private int capacity = 64;
+
+		private Loader(@NotNull Schema schema, int[] indexes) {
+			this.columns = schema.columns;
+			this.indexes = indexes;
+			this.arrays = new Object[columns.size()];
+			for (int i = 0; i < arrays.length; i++) {
+				arrays[i] = switch (columns.get(i).type) {
+					case INT -> new int[capacity];
+					case LONG -> new long[capacity];
+					case DOUBLE -> filled(new double[capacity], 0);
+					case STRING -> new String[capacity];
+				};
+			}
+		}
+
+		private void add(@NotNull CSVRow row) {
+			if (rows == capacity) grow();
+			for (int i = 0; i < arrays.length; i++) {
+				int index = indexes[i];
+				if (index >= row.size()) continue; // 字段数量不足,保留数组默认值
+				switch (columns.get(i).type) {
+					case INT -> ((int[]) arrays[i])[rows] = row.parseIntField(index, 0);
+					case LONG -> ((long[]) arrays[i])[rows] = row.parseLongField(index, 0);
+					case DOUBLE -> ((double[]) arrays[i])[rows] = row.parseDoubleField(index, Double.NaN);
+					case STRING -> ((String[]) arrays[i])[rows] = row.get(index);
+				}
+			}
+			rows++;
+		}
+
+		private void grow() {
+			capacity <<= 1;
+			for (int i = 0; i < arrays.length; i++) {
+				arrays[i] = resize(arrays[i], capacity);
+				if (arrays[i] instanceof double[] a) filled(a, rows);
+			}
+		}
+
+		/**
+		 * 将 double 数组从指定位置开始填充为 NaN,作为缺少字段时的默认值
+		 */
+		private static double[] filled(double[] array, int from) {
+			Arrays.fill(array, from, array.length, Double.NaN);
+			return array;
+		}
+
+		private CSVTable table() {
+			var map = new LinkedHashMap<String, Object>();
+			for (int i = 0; i < arrays.length; i++) map.put(columns.get(i).name, resize(arrays[i], rows));
+			return new CSVTable(map, rows);
+		}
+
+		private static Object resize(@NotNull Object array, int length) {
+			if (array instanceof int[] a) return Arrays.copyOf(a, length);
+			if (array instanceof long[] a) return Arrays.copyOf(a, length);
+			if (array instanceof double[] a) return Arrays.copyOf(a, length);
+			return Arrays.copyOf((String[]) array, length);
+		}
+
+	}
+
+}
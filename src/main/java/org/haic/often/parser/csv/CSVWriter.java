@@ -0,0 +1,212 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * 流式CSV写入器,字段直接写入带缓冲的输出流
+ * <p>
+ * 默认引号规则与 {@link CSVNode} 一致: 字段中的 '"' 写为 '""',默认仅在字段包含 ',', '"', 换行符或首尾空白时使用 '"' 包裹,其它格式通过 {@link #dialect(CSVDialect)} 指定
+ * <p>
+ * 使用方法: try (var writer = CSVWriter.of(out)) { writer.writeRow("a", "b"); }
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 19:42
+ */
+public class CSVWriter implements Closeable, Flushable {
+
+	private final Writer writer;
+	private CSVDialect dialect = CSVDialect.DEFAULT;
+	private boolean quoteAll; // 是否包裹所有字段
+	private String lineSeparator = "\n";
+
+	public CSVWriter(@NotNull Writer writer) {
+		this.writer = writer instanceof BufferedWriter || writer instanceof StringWriter ? writer : new BufferedWriter(writer);
+	}
+
+	/**
+	 * 以UTF-8编码写入输出流
+	 *
+	 * @param out 输出流
+	 * @return 写入器
+	 */
+	public static CSVWriter of(@NotNull OutputStream out) {
+		return of(out, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 以指定编码写入输出流
+	 *
+	 * @param out     输出流
+	 * @param charset 字符集编码格式
+	 * @return 写入器
+	 */
+	public static CSVWriter of(@NotNull OutputStream out, @NotNull Charset charset) {
+		return new CSVWriter(new OutputStreamWriter(out, charset));
+	}
+
+	/**
+	 * 写入字符流
+	 *
+	 * @param writer 字符流
+	 * @return 写入器
+	 */
+	public static CSVWriter of(@NotNull Writer writer) {
+		return new CSVWriter(writer);
+	}
+
+	/**
+	 * 设置 CSV格式,默认为 {@link CSVDialect#DEFAULT}
+	 *
+	 * @param dialect CSV格式
+	 * @return this
+	 */
+	public CSVWriter dialect(@NotNull CSVDialect dialect) {
+		this.dialect = dialect;
+		return this;
+	}
+
+	/**
+	 * 设置 是否使用 '"' 包裹所有字段,与 {@link CSVNode#toString()} 格式一致,默认false
+	 *
+	 * @param quoteAll 是否包裹所有字段
+	 * @return this
+	 */
+	public CSVWriter quoteAll(boolean quoteAll) {
+		this.quoteAll = quoteAll;
+		return this;
+	}
+
+	/**
+	 * 设置 行分隔符,默认为 "\n"
+	 *
+	 * @param lineSeparator 行分隔符
+	 * @return this
+	 */
+	public CSVWriter lineSeparator(@NotNull String lineSeparator) {
+		this.lineSeparator = lineSeparator;
+		return this;
+	}
+
+	/**
+	 * 写入一行
+	 *
+	 * @param fields 字段,null写为空值
+	 * @return this
+	 */
+	public CSVWriter writeRow(@NotNull String... fields) {
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				if (i > 0) writer.write(dialect.delimiter());
+				appendField(writer, fields[i], quoteAll, dialect);
+			}
+			writer.write(lineSeparator);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * 写入一行
+	 *
+	 * @param fields 字段,null写为空值
+	 * @return this
+	 */
+	public CSVWriter writeRow(@NotNull Collection<String> fields) {
+		try {
+			var first = true;
+			for (var field : fields) {
+				if (!first) writer.write(dialect.delimiter());
+				appendField(writer, field, quoteAll, dialect);
+				first = false;
+			}
+			writer.write(lineSeparator);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * 写入多行
+	 *
+	 * @param rows 行数据
+	 * @return this
+	 */
+	public CSVWriter writeAll(@NotNull Iterable<? extends Collection<String>> rows) {
+		for (var row : rows) writeRow(row);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 按照默认引号规则写入一个字段
+	 *
+	 * @param out      输出
+	 * @param field    字段,null写为空值
+	 * @param quoteAll 是否始终使用 '"' 包裹
+	 */
+	static void appendField(@NotNull Appendable out, String field, boolean quoteAll) throws IOException {
+		appendField(out, field, quoteAll, CSVDialect.DEFAULT);
+	}
+
+	/**
+	 * 按照指定格式写入一个字段,格式不使用引号时转义特殊字符
+	 *
+	 * @param out      输出
+	 * @param field    字段,null写为空值
+	 * @param quoteAll 是否始终使用引号包裹
+	 * @param dialect  CSV格式
+	 */
+	static void appendField(@NotNull Appendable out, String field, boolean quoteAll, @NotNull CSVDialect dialect) throws IOException {
+		if (field == null) field = "";
+		char quote = dialect.quote();
+		char esc = dialect.escapeChar();
+		if (!(quoteAll && quote != CSVDialect.NONE) && !dialect.needsQuote(field)) {
+			out.append(field);
+			return;
+		}
+		if (quote == CSVDialect.NONE) {
+			if (esc == CSVDialect.NONE) throw new IllegalArgumentException("值中包含分隔符或换行符,当前格式无法写入: " + field);
+			for (int i = 0; i < field.length(); i++) {
+				var c = field.charAt(i);
+				if (dialect.isSpecial(c)) out.append(esc);
+				out.append(c);
+			}
+			return;
+		}
+		out.append(quote);
+		int last = 0;
+		for (int i = 0; i < field.length(); i++) {
+			var c = field.charAt(i);
+			if (c != quote && c != esc) continue;
+			out.append(field, last, i).append(esc);
+			last = i;
+		}
+		out.append(field, last, field.length()).append(quote);
+	}
+
+}
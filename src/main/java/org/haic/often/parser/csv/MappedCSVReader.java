@@ -0,0 +1,289 @@
+package org.haic.often.parser.csv;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 内存映射CSV读取器,用于并行读取超大的CSV文件
+ * <p>
+ * 文件按照块大小划分后,并行统计每块中的引号数量(每次比较8个字节),以确定每个块起始位置是否处于引号内,再从块起始位置查找不在引号内的换行符作为行边界,各块以行边界为界并行解析
+ * <p>
+ * 字符集必须兼容ASCII(例: UTF-8,GBK),即换行符,引号,逗号与ASCII编码一致,且不会出现在多字节字符中
+ * <p>
+ * 使用方法: MappedCSVReader.of(path).stream().forEachOrdered(row -> ...)
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 18:05
+ */
+public class MappedCSVReader {
+
+	private static final int DEFAULT_CHUNK_SIZE = 16 << 20; // 默认块大小
+	private static final long BYTES = 0x0101010101010101L; // 每个字节均为1
+	private static final long NEWLINES = BYTES * '\n';
+	private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+	private final Path path;
+	private Charset charset = StandardCharsets.UTF_8;
+	private CSVDialect dialect = CSVDialect.DEFAULT;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private MappedCSVReader(@NotNull Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * 设置CSV文件并获取 new MappedCSVReader
+	 *
+	 * @param path 文件路径
+	 * @return new MappedCSVReader
+	 */
+	public static MappedCSVReader of(@NotNull String path) {
+		return of(Path.of(path));
+	}
+
+	/**
+	 * 设置CSV文件并获取 new MappedCSVReader
+	 *
+	 * @param file 文件
+	 * @return new MappedCSVReader
+	 */
+	public static MappedCSVReader of(@NotNull File file) {
+		return of(file.toPath());
+	}
+
+	/**
+	 * 设置CSV文件并获取 new MappedCSVReader
+	 *
+	 * @param path 文件路径
+	 * @return new MappedCSVReader
+	 */
+	public static MappedCSVReader of(@NotNull Path path) {
+		return new MappedCSVReader(path);
+	}
+
+	/**
+	 * 设置 字符集编码格式,默认UTF-8
+	 *
+	 * @param charset 字符集编码格式
+	 * @return this
+	 */
+	public MappedCSVReader charset(@NotNull Charset charset) {
+		if (!Arrays.equals("\n\",".getBytes(charset), new byte[]{'\n', '"', ','})) throw new IllegalArgumentException("字符集 " + charset + " 不兼容ASCII,无法按字节查找行边界");
+		this.charset = charset;
+		return this;
+	}
+
+	/**
+	 * 设置 字符集编码格式,默认UTF-8
+	 *
+	 * @param charsetName 字符集编码格式
+	 * @return this
+	 */
+	public MappedCSVReader charset(@NotNull String charsetName) {
+		return charset(Charset.forName(charsetName));
+	}
+
+	/**
+	 * 设置 CSV格式,默认为 {@link CSVDialect#DEFAULT}
+	 * <p>
+	 * 行边界通过引号数量的奇偶确定,因此引号必须为ASCII字符,且不支持单独的转义字符
+	 *
+	 * @param dialect CSV格式
+	 * @return this
+	 */
+	public MappedCSVReader dialect(@NotNull CSVDialect dialect) {
+		if (dialect.quote() >= 128) throw new IllegalArgumentException("引号 " + dialect.quote() + " 不为ASCII字符,无法按字节查找行边界");
+		if (dialect.escape() != CSVDialect.NONE) throw new IllegalArgumentException("使用转义字符时无法按字节查找行边界");
+		this.dialect = dialect;
+		return this;
+	}
+
+	/**
+	 * 设置 块大小,每个块由一个线程解析,默认16MB
+	 *
+	 * @param chunkSize 块大小
+	 * @return this
+	 */
+	public MappedCSVReader chunkSize(int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize Less than 1");
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+	/**
+	 * 获取所有行的并行流,各块在 {@link java.util.concurrent.ForkJoinPool#commonPool()} 中解析,需要按照文件顺序处理时使用 forEachOrdered
+	 *
+	 * @return 行数据流
+	 */
+	public Stream<CSVNode> stream() {
+		var bounds = bounds();
+		return IntStream.range(0, bounds.length - 1).parallel().mapToObj(i -> parse(bounds[i], bounds[i + 1], i == 0, i == bounds.length - 2)).flatMap(s -> s);
+	}
+
+	/**
+	 * 并行解析所有行并交由处理函数,处理函数将在多个线程中同时调用
+	 *
+	 * @param action 处理函数
+	 * @return 行数量
+	 */
+	public long forEach(@NotNull Consumer<CSVNode> action) {
+		var count = new LongAdder();
+		stream().forEach(row -> {
+			action.accept(row);
+			count.increment();
+		});
+		return count.sum();
+	}
+
+	/**
+	 * 并行解析所有行,按照文件顺序返回
+	 *
+	 * @return CSV数据
+	 */
+	public CSV read() {
+		return stream().collect(Collectors.toCollection(CSV::new));
+	}
+
+	/**
+	 * 获取各块的边界,每个边界均为行起始位置
+	 *
+	 * @return 边界数组,包含文件起始和结束位置
+	 */
+	private long[] bounds() {
+		long size;
+		try {
+			size = Files.size(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		int blocks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+		var quote = dialect.quote();
+		var quotePattern = quote == CSVDialect.NONE ? 0 : BYTES * quote;
+		// 统计每块的引号数量奇偶
+		var parity = new boolean[blocks];
+		if (quote != CSVDialect.NONE) {
+			IntStream.range(0, blocks).parallel().forEach(i -> {
+				var buffer = map(i * (long) chunkSize, Math.min(size, (i + 1) * (long) chunkSize));
+				int count = 0;
+				while (buffer.remaining() >= Long.BYTES) count += Long.bitCount(zeroBytes(buffer.getLong() ^ quotePattern));
+				while (buffer.hasRemaining()) if (buffer.get() == quote) count++;
+				parity[i] = (count & 1) == 1;
+			});
+		}
+		var quoted = new boolean[blocks]; // 块起始位置是否处于引号内
+		for (int i = 1; i < blocks; i++) quoted[i] = quoted[i - 1] ^ parity[i - 1];
+		// 从块起始位置查找行边界
+		var found = IntStream.range(1, blocks).parallel().mapToLong(i -> {
+			long start = i * (long) chunkSize;
+			var buffer = map(start, Math.min(size, start + chunkSize));
+			var inQuote = quoted[i];
+			while (buffer.hasRemaining()) {
+				if (buffer.remaining() >= Long.BYTES) { // 跳过不包含引号和换行符的8个字节
+					long word = buffer.getLong(buffer.position());
+					long hit = zeroBytes(word ^ NEWLINES);
+					if (quote != CSVDialect.NONE) hit |= zeroBytes(word ^ quotePattern);
+					if (hit == 0) {
+						buffer.position(buffer.position() + Long.BYTES);
+						continue;
+					}
+				}
+				var b = buffer.get();
+				if (b == quote && quote != CSVDialect.NONE) inQuote = !inQuote;
+				else if (b == '\n' && !inQuote) return start + buffer.position();
+			}
+			return -1; // 当前块中不存在行边界,与前一个块合并
+		}).filter(i -> i != -1 && i < size).toArray();
+		var bounds = new long[found.length + 2];
+		System.arraycopy(found, 0, bounds, 1, found.length);
+		bounds[bounds.length - 1] = size;
+		return bounds;
+	}
+
+	/**
+	 * 解析指定区间内的所有行,按需逐行解码和解析,不会一次性读取整个块
+	 *
+	 * @param start 起始位置
+	 * @param end   结束位置
+	 * @param first 是否为第一个块
+	 * @param last  是否为最后一个块
+	 * @return 行数据流
+	 */
+	private Stream<CSVNode> parse(long start, long end, boolean first, boolean last) {
+		var buffer = map(start, end);
+		if (first) { // 去除特殊符号和起始空白
+			if (charset.equals(StandardCharsets.UTF_8) && buffer.remaining() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) buffer.position(3);
+			while (buffer.hasRemaining() && isWhitespace(buffer.get(buffer.position()))) buffer.position(buffer.position() + 1);
+		}
+		if (last) { // 去除结尾空白
+			int limit = buffer.limit();
+			while (limit > buffer.position() && isWhitespace(buffer.get(limit - 1))) limit--;
+			buffer.limit(limit);
+		}
+		return new CSVReader(new InputStreamReader(new InputStream() {
+			public int read() {
+				return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+			}
+
+			public int read(byte @NotNull [] b, int off, int len) {
+				if (len == 0) return 0;
+				if (!buffer.hasRemaining()) return -1;
+				len = Math.min(len, buffer.remaining());
+				buffer.get(b, off, len);
+				return len;
+			}
+		}, charset)).dialect(dialect).stream();
+	}
+
+	/**
+	 * 判断是否为ASCII空白字符
+	 *
+	 * @param b 字节
+	 * @return 判断结果
+	 */
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f' || b == 0x0B || (b >= 0x1C && b <= 0x1F);
+	}
+
+	/**
+	 * 按字节检查8个字节中为0的字节
+	 *
+	 * @param word 8个字节
+	 * @return 为0的字节最高位为1,其余位均为0
+	 */
+	private static long zeroBytes(long word) {
+		long t = (word & LOW_BITS) + LOW_BITS; // 低7位不为0时最高位为1
+		return ~(t | word | LOW_BITS);
+	}
+
+	/**
+	 * 映射文件的指定区间
+	 *
+	 * @param start 起始位置
+	 * @param end   结束位置
+	 * @return 只读映射
+	 */
+	private MappedByteBuffer map(long start, long end) {
+		if (end - start > Integer.MAX_VALUE) throw new IllegalStateException("在索引 " + start + " 处的行数据超出映射上限");
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
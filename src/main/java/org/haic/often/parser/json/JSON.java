@@ -28,6 +28,27 @@ public abstract class JSON {
 		return JSONObject.parseObject(body);
 	}
 
+	/**
+	 * 解析并获取JSON对象
+	 *
+	 * @param body JSON字符序列
+	 * @return JSON对象
+	 */
+	public static JSONObject parseObject(@NotNull CharSequence body) {
+		return JSONObject.parseObject(body);
+	}
+
+	/**
+	 * 以宽松模式解析并获取JSON对象,问题记录至收集器中
+	 *
+	 * @param body        JSON字符序列
+	 * @param diagnostics 问题收集器
+	 * @return JSON对象
+	 */
+	public static JSONObject parseObject(@NotNull CharSequence body, @NotNull JSONDiagnostics diagnostics) {
+		return JSONObject.parseObject(body, diagnostics);
+	}
+
 	/**
 	 * 解析并获取JSON对象
 	 *
@@ -48,6 +69,27 @@ public abstract class JSON {
 		return JSONArray.parseArray(body);
 	}
 
+	/**
+	 * 解析并获取JSON数组
+	 *
+	 * @param body JSON字符序列
+	 * @return JSON数组
+	 */
+	public static JSONArray parseArray(@NotNull CharSequence body) {
+		return JSONArray.parseArray(body);
+	}
+
+	/**
+	 * 以宽松模式解析并获取JSON数组,问题记录至收集器中
+	 *
+	 * @param body        JSON字符序列
+	 * @param diagnostics 问题收集器
+	 * @return JSON数组
+	 */
+	public static JSONArray parseArray(@NotNull CharSequence body, @NotNull JSONDiagnostics diagnostics) {
+		return JSONArray.parseArray(body, diagnostics);
+	}
+
 	/**
 	 * 解析并获取JSON数组
 	 *
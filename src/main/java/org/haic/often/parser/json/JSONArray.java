@@ -31,53 +31,41 @@ public class JSONArray extends ArrayList<Object> {
 	 * @param body 字符串
 	 */
 	public JSONArray(@NotNull ParserStringBuilder body) {
+		this(body, null);
+	}
+
+	/**
+	 * 这是解析用构建,切勿使用
+	 *
+	 * @param body        字符串
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 */
+	JSONArray(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics) {
 		if (body.charAt() == '[') {
-			if (body.offset(1).stripLeading().charAt() == ']') return;
-			while (body.isNoOutBounds()) {
-				switch (body.charAt()) {
-					case '"', '\'' -> this.add(body.intercept());
-					case '{' -> this.add(new JSONObject(body));
-					case '[' -> this.add(new JSONArray(body));
-					case 'n' -> {
-						if (body.startsWith("null")) this.add(null);
-						else throw new JSONException("位置 " + body.pos() + " 处期望值不为'null'");
-						body.offset(3);
-					}
-					case 't' -> {
-						if (body.startsWith("true")) this.add(true);
-						else throw new JSONException("位置 " + body.pos() + " 处期望值不为'true'");
-						body.offset(3);
-					}
-					case 'f' -> {
-						if (body.startsWith("false")) this.add(false);
-						else throw new JSONException("位置 " + body.pos() + " 处期望值不为'false'");
-						body.offset(4);
+			try {
+				if (JSONObject.skip(body.offset(1), diagnostics).charAt() == ']') return;
+				while (body.isNoOutBounds()) {
+					this.add(JSONObject.value(body, diagnostics));
+					if (JSONObject.skip(body.offset(1), diagnostics).charAt() == ']') return;
+					if (body.charAt() != ',') {
+						JSONObject.error(body, diagnostics, "期望值不为分隔符','");
+						if (body.charAt() == '}') return; // 括号不匹配,视为结束
+						continue; // 视为存在分隔符
 					}
-					case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
-						var value = new StringBuilder();
-						do {
-							value.append(body.charAt());
-						} while (Character.isDigit(body.offset(1).charAt()) || body.charAt() == '.');
-						if (body.charAt() == 'e' || body.charAt() == 'E') { // 自然数
-							value.append('e');
-							if (body.offset(1).charAt() == '+') {
-								value.append('+');
-								body.offset(1);
-							}
-							do value.append(body.charAt()); while (Character.isDigit(body.offset(1).charAt()));
-						}
-						this.add(new JSONNumber(value.toString()));
-						body.offset(-1); // 修正索引
+					int comma = body.pos();
+					if (JSONObject.skip(body.offset(1), diagnostics).charAt() == ']' && diagnostics != null) {
+						diagnostics.add(body, comma, "多余的分隔符','");
+						return;
 					}
-					default -> throw new JSONException("位置 " + body.pos() + " 处期望值不为'STRING', 'NUMBER', 'NULL', 'TRUE', 'FALSE', '{', '['");
 				}
-				if (body.offset(1).stripLeading().charAt() == ']') return;
-				if (body.charAt() != ',') throw new JSONException("位置 " + body.pos() + " 处期望值不为分隔符','");
-				body.offset(1).stripLeading();
+			} catch (IndexOutOfBoundsException e) {
+				if (diagnostics == null) throw e;
 			}
-			throw new JSONException("数据未封闭");
+			if (diagnostics == null) throw new JSONException("数据未封闭");
+			diagnostics.add(body, body.length(), "数据未封闭,缺少']'");
+			body.pos(body.length());
 		} else if (body.charAt(body.pos()) == '{') {
-			this.add(new JSONObject(body));
+			this.add(new JSONObject(body, diagnostics));
 		} else {
 			throw new JSONException("位置 " + body.pos() + " 处格式错误期望值不为'['或'{'");
 		}
@@ -90,12 +78,38 @@ public class JSONArray extends ArrayList<Object> {
 	 * @return JSON数组
 	 */
 	public static JSONArray parseArray(@NotNull String body) {
+		return parseArray((CharSequence) body);
+	}
+
+	/**
+	 * 解析并获取JSON数组,数据无需预先转换为字符串(例: StringBuilder, CharBuffer.wrap(char[]))
+	 *
+	 * @param body JSON字符序列
+	 * @return JSON数组
+	 */
+	public static JSONArray parseArray(@NotNull CharSequence body) {
 		var builder = new ParserStringBuilder(body).strip();
 		var object = new JSONArray(builder);
 		if (builder.pos() + 1 != builder.length()) throw new JSONException("格式错误,在封闭符号之后仍然存在数据");
 		return object;
 	}
 
+	/**
+	 * 以宽松模式解析并获取JSON数组,遇到错误时尽可能保留已解析的数据,不会抛出异常,规则参见 {@link JSONObject#parseObject(CharSequence, JSONDiagnostics)}
+	 *
+	 * @param body        JSON字符序列
+	 * @param diagnostics 问题收集器,记录所有被修正的问题
+	 * @return JSON数组
+	 */
+	public static JSONArray parseArray(@NotNull CharSequence body, @NotNull JSONDiagnostics diagnostics) {
+		var builder = new ParserStringBuilder(body);
+		var isObject = JSONObject.skip(builder, diagnostics).isNoOutBounds() && builder.charAt() == '{';
+		if (!isObject && !JSONObject.seek(builder, diagnostics, '[')) return new JSONArray();
+		var array = new JSONArray(builder, diagnostics);
+		if (JSONObject.skip(builder.offset(1), diagnostics).isNoOutBounds()) diagnostics.add(builder, builder.pos(), "在封闭符号之后仍然存在数据");
+		return array;
+	}
+
 	/**
 	 * 解析并获取JSON数组
 	 *
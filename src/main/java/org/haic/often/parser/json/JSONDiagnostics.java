@@ -0,0 +1,105 @@
+package org.haic.often.parser.json;
+
+import org.haic.often.annotations.NotNull;
+import org.haic.often.parser.ParserStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JSON宽松解析时的问题收集器,记录每个问题的位置,行号和列号
+ * <p>
+ * 使用方法: var diagnostics = new JSONDiagnostics(); var json = JSONObject.parseObject(body, diagnostics); if (!diagnostics.isEmpty()) log(diagnostics);
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 22:10
+ */
+public class JSONDiagnostics {
+
+	private final List<Problem> problems = new ArrayList<>();
+	private ParserStringBuilder body; // 上次计算行号的数据
+	private int lastIndex;
+	private int lastLine = 1;
+	private int lastColumn = 1;
+
+	/**
+	 * 获取所有问题,按照发现顺序排列
+	 *
+	 * @return 问题列表
+	 */
+	public List<Problem> problems() {
+		return Collections.unmodifiableList(problems);
+	}
+
+	/**
+	 * 判断是否不存在问题
+	 *
+	 * @return 判断结果
+	 */
+	public boolean isEmpty() {
+		return problems.isEmpty();
+	}
+
+	/**
+	 * 获取问题数量
+	 *
+	 * @return 问题数量
+	 */
+	public int size() {
+		return problems.size();
+	}
+
+	/**
+	 * 记录问题
+	 *
+	 * @param body    数据
+	 * @param index   位置
+	 * @param message 问题描述
+	 */
+	void add(@NotNull ParserStringBuilder body, int index, @NotNull String message) {
+		index = Math.max(0, Math.min(index, body.length()));
+		if (this.body != body || index < lastIndex) { // 数据变化或位置后退时从头计算
+			this.body = body;
+			lastIndex = 0;
+			lastLine = 1;
+			lastColumn = 1;
+		}
+		for (int i = lastIndex; i < index; i++) {
+			if (body.charAt(i) == '\n') {
+				lastLine++;
+				lastColumn = 1;
+			} else {
+				lastColumn++;
+			}
+		}
+		lastIndex = index;
+		problems.add(new Problem(index, lastLine, lastColumn, message));
+	}
+
+	@Override
+	public String toString() {
+		var sb = new StringBuilder();
+		for (var problem : problems) sb.append(problem).append('\n');
+		return sb.toString();
+	}
+
+	/**
+	 * 解析问题
+	 *
+	 * @param index   位置
+	 * @param line    行号,从1开始
+	 * @param column  列号,从1开始
+	 * @param message 问题描述
+	 */
+	public record Problem(int index, int line, int column, String message) {
+
+		@Override
+		public String toString() {
+			return "第 " + line + " 行第 " + column + " 列(位置 " + index + "): " + message;
+		}
+
+	}
+
+}
@@ -34,68 +34,61 @@ public class JSONObject extends LinkedHashMap<String, Object> {
 	 * @param body 字符串
 	 */
 	public JSONObject(@NotNull ParserStringBuilder body) {
+		this(body, null);
+	}
+
+	/**
+	 * 这是解析用构建,切勿使用
+	 *
+	 * @param body        字符串
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 */
+	JSONObject(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics) {
 		if (body.charAt() != '{') throw new JSONException("位置 " + body.pos() + " 处格式错误期望值不为'{'");
-		if (body.offset(1).stripLeading().charAt() == '}') return;
-		while (body.isNoOutBounds()) {
-			if (body.charAt() == ':') throw new JSONException("位置 " + body.pos() + " 处不存在键");
-			String key;
-			switch (body.charAt()) {
-				case '"', '\'' -> {
-					key = body.intercept();
-					body.offset(1);
-				}
-				default -> {
-					var keySb = new StringBuilder();
-					for (char c = body.charAt(); Character.isLetterOrDigit(c) || c == '_'; c = body.offset(1).charAt()) {
-						keySb.append(body.charAt());
+		try {
+			if (skip(body.offset(1), diagnostics).charAt() == '}') return;
+			while (body.isNoOutBounds()) {
+				String key;
+				switch (body.charAt()) {
+					case '"', '\'' -> {
+						key = string(body, diagnostics);
+						body.offset(1);
 					}
-					key = keySb.toString();
-				}
-			}
-			if (body.stripLeading().charAt() != ':') throw new JSONException("位置 " + body.pos() + " 处期望值不为':'");
-			body.offset(1).stripLeading();
-			switch (body.charAt()) {
-				case '"', '\'' -> this.put(key, body.intercept());
-				case '{' -> this.put(key, new JSONObject(body));
-				case '[' -> this.put(key, new JSONArray(body));
-				case 'n' -> {
-					if (body.startsWith("null")) this.put(key, null);
-					else throw new JSONException("位置 " + body.pos() + " 处期望值不为'null'");
-					body.offset(3);
-				}
-				case 't' -> {
-					if (body.startsWith("true")) this.put(key, true);
-					else throw new JSONException("位置 " + body.pos() + " 处期望值不为'true'");
-					body.offset(3);
-				}
-				case 'f' -> {
-					if (body.startsWith("false")) this.put(key, false);
-					else throw new JSONException("位置 " + body.pos() + " 处期望值不为'false'");
-					body.offset(4);
-				}
-				case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
-					var value = new StringBuilder();
-					do {
-						value.append(body.charAt());
-					} while (Character.isDigit(body.offset(1).charAt()) || body.charAt() == '.');
-					if (body.charAt() == 'e' || body.charAt() == 'E') { // 自然数
-						value.append('e');
-						if (body.offset(1).charAt() == '+') {
-							value.append('+');
-							body.offset(1);
+					case ':' -> {
+						error(body, diagnostics, "不存在键");
+						key = "";
+					}
+					default -> {
+						int start = body.pos();
+						while (Character.isLetterOrDigit(body.charAt()) || body.charAt() == '_') body.offset(1);
+						if (diagnostics != null && !isKeyEnd(body.charAt())) { // 宽松模式下读取至键结束位置
+							diagnostics.add(body, body.pos(), "键中存在非法字符");
+							while (!isKeyEnd(body.charAt())) body.offset(1);
 						}
-						do value.append(body.charAt()); while (Character.isDigit(body.offset(1).charAt()));
+						key = body.substring(start, body.pos()).strip();
 					}
-					this.put(key, new JSONNumber(value.toString()));
-					body.offset(-1); // 修正索引
 				}
-				default -> throw new JSONException("位置 " + body.pos() + " 处期望值不为'STRING', 'NUMBER', 'NULL', 'TRUE', 'FALSE', '{', '['");
+				if (skip(body, diagnostics).charAt() == ':') body.offset(1);
+				else error(body, diagnostics, "期望值不为':'");
+				this.put(key, value(skip(body, diagnostics), diagnostics));
+				if (skip(body.offset(1), diagnostics).charAt() == '}') return;
+				if (body.charAt() != ',') {
+					error(body, diagnostics, "期望值不为分隔符','");
+					if (body.charAt() == ']') return; // 括号不匹配,视为结束
+					continue; // 视为存在分隔符
+				}
+				int comma = body.pos();
+				if (skip(body.offset(1), diagnostics).charAt() == '}' && diagnostics != null) {
+					diagnostics.add(body, comma, "多余的分隔符','");
+					return;
+				}
 			}
-			if (body.offset(1).stripLeading().charAt() == '}') return;
-			if (body.charAt() != ',') throw new JSONException("位置 " + body.pos() + " 处期望值不为分隔符','");
-			body.offset(1).stripLeading();
+		} catch (IndexOutOfBoundsException e) {
+			if (diagnostics == null) throw e;
 		}
-		throw new JSONException("数据未封闭");
+		if (diagnostics == null) throw new JSONException("数据未封闭");
+		diagnostics.add(body, body.length(), "数据未封闭,缺少'}'");
+		body.pos(body.length());
 	}
 
 	/**
@@ -105,12 +98,39 @@ public class JSONObject extends LinkedHashMap<String, Object> {
 	 * @return JSON对象
 	 */
 	public static JSONObject parseObject(@NotNull String body) {
+		return parseObject((CharSequence) body);
+	}
+
+	/**
+	 * 解析并获取JSON对象,数据无需预先转换为字符串(例: StringBuilder, CharBuffer.wrap(char[]))
+	 *
+	 * @param body JSON字符序列
+	 * @return JSON对象
+	 */
+	public static JSONObject parseObject(@NotNull CharSequence body) {
 		var builder = new ParserStringBuilder(body).strip();
 		var object = new JSONObject(builder);
 		if (builder.pos() + 1 != builder.length()) throw new JSONException("格式错误,在封闭符号之后仍然存在数据");
 		return object;
 	}
 
+	/**
+	 * 以宽松模式解析并获取JSON对象,遇到错误时尽可能保留已解析的数据,不会抛出异常
+	 * <p>
+	 * 允许: 注释(// 和 /* *&#47;),多余的分隔符,缺少的分隔符,未使用引号包裹的值,未封闭的数据(截断)
+	 *
+	 * @param body        JSON字符序列
+	 * @param diagnostics 问题收集器,记录所有被修正的问题
+	 * @return JSON对象
+	 */
+	public static JSONObject parseObject(@NotNull CharSequence body, @NotNull JSONDiagnostics diagnostics) {
+		var builder = new ParserStringBuilder(body);
+		if (!seek(builder, diagnostics, '{')) return new JSONObject();
+		var object = new JSONObject(builder, diagnostics);
+		if (skip(builder.offset(1), diagnostics).isNoOutBounds()) diagnostics.add(builder, builder.pos(), "在封闭符号之后仍然存在数据");
+		return object;
+	}
+
 	/**
 	 * 解析并获取JSON对象
 	 *
@@ -551,4 +571,157 @@ public class JSONObject extends LinkedHashMap<String, Object> {
 		return this.isEmpty() ? "{}" : '{' + this.entrySet().stream().map(token -> '\n' + "    ".repeat(depth + 1) + '"' + StringUtil.toEscape(token.getKey()) + "\":" + JSONFormat.toOutFormat(token.getValue(), depth)).collect(Collectors.joining(",")) + "\n" + "    ".repeat(depth) + '}';
 	}
 
+	/**
+	 * 解析当前位置的字符串,解析完成后位置位于结束引号
+	 * <p>
+	 * 宽松模式下非法的转义符不会抛出异常,按照 {@link ParserStringBuilder#intercept(char, java.util.function.IntConsumer)} 处理并记录问题
+	 *
+	 * @param body        数据
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 * @return 字符串
+	 */
+	static String string(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics) {
+		if (diagnostics == null) return body.intercept();
+		int start = body.pos();
+		try {
+			return body.intercept(body.charAt(), i -> diagnostics.add(body, i, "存在非法转义字符"));
+		} catch (IndexOutOfBoundsException e) { // 截断的字符串保留已读取的部分
+			diagnostics.add(body, start, "字符串未封闭");
+			body.pos(body.length() - 1);
+			return body.substring(start + 1, body.length());
+		}
+	}
+
+	/**
+	 * 解析当前位置的值,解析完成后位置位于值的最后一个字符
+	 *
+	 * @param body        数据
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 * @return 值
+	 */
+	static Object value(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics) {
+		switch (body.charAt()) {
+			case '"', '\'' -> {
+				return string(body, diagnostics);
+			}
+			case '{' -> {
+				return new JSONObject(body, diagnostics);
+			}
+			case '[' -> {
+				return new JSONArray(body, diagnostics);
+			}
+			case 'n' -> {
+				if (body.startsWith("null")) {
+					body.offset(3);
+					return null;
+				}
+				if (diagnostics == null) throw new JSONException("位置 " + body.pos() + " 处期望值不为'null'");
+			}
+			case 't' -> {
+				if (body.startsWith("true")) {
+					body.offset(3);
+					return true;
+				}
+				if (diagnostics == null) throw new JSONException("位置 " + body.pos() + " 处期望值不为'true'");
+			}
+			case 'f' -> {
+				if (body.startsWith("false")) {
+					body.offset(4);
+					return false;
+				}
+				if (diagnostics == null) throw new JSONException("位置 " + body.pos() + " 处期望值不为'false'");
+			}
+			case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+				int start = body.pos();
+				do body.offset(1); while (body.isNoOutBounds() && (Character.isDigit(body.charAt()) || body.charAt() == '.'));
+				if (body.isNoOutBounds() && (body.charAt() == 'e' || body.charAt() == 'E')) { // 自然数
+					if (body.offset(1).charAt() == '+' || body.charAt() == '-') body.offset(1);
+					while (body.isNoOutBounds() && Character.isDigit(body.charAt())) body.offset(1);
+				}
+				var value = new JSONNumber(body.substring(start, body.pos()).replace('E', 'e'));
+				body.offset(-1); // 修正索引
+				return value;
+			}
+			default -> {
+				if (diagnostics == null) throw new JSONException("位置 " + body.pos() + " 处期望值不为'STRING', 'NUMBER', 'NULL', 'TRUE', 'FALSE', '{', '['");
+			}
+		}
+		// 宽松模式: 读取至分隔符或换行符作为字符串
+		int start = body.pos();
+		while (body.isNoOutBounds() && !isValueEnd(body.charAt())) body.offset(1);
+		var value = body.substring(start, body.pos()).strip();
+		body.offset(-1); // 修正索引
+		if (value.isEmpty()) {
+			diagnostics.add(body, start, "缺少值");
+			return null;
+		}
+		diagnostics.add(body, start, "值未使用引号包裹");
+		return value;
+	}
+
+	/**
+	 * 跳过空白字符,宽松模式下同时跳过注释
+	 *
+	 * @param body        数据
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 * @return 数据
+	 */
+	static ParserStringBuilder skip(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics) {
+		body.stripLeading();
+		if (diagnostics == null) return body;
+		while (true) {
+			if (body.startsWith("//")) {
+				int end = body.indexOf("\n", body.pos());
+				body.pos(end == -1 ? body.length() : end);
+			} else if (body.startsWith("/*")) {
+				int end = body.indexOf("*/", body.pos() + 2);
+				if (end == -1) diagnostics.add(body, body.pos(), "注释未封闭");
+				body.pos(end == -1 ? body.length() : end + 2);
+			} else {
+				return body;
+			}
+			body.stripLeading();
+		}
+	}
+
+	/**
+	 * 严格模式下抛出异常,宽松模式下记录问题
+	 *
+	 * @param body        数据
+	 * @param diagnostics 问题收集器,不为null时使用宽松模式
+	 * @param message     问题描述
+	 */
+	static void error(@NotNull ParserStringBuilder body, JSONDiagnostics diagnostics, @NotNull String message) {
+		if (diagnostics == null) throw new JSONException("位置 " + body.pos() + " 处" + message);
+		diagnostics.add(body, body.pos(), message);
+	}
+
+	/**
+	 * 宽松模式下查找起始符号,忽略之前的数据(例: JSONP回调名称)
+	 *
+	 * @param body        数据
+	 * @param diagnostics 问题收集器
+	 * @param open        起始符号
+	 * @return 是否找到起始符号
+	 */
+	static boolean seek(@NotNull ParserStringBuilder body, @NotNull JSONDiagnostics diagnostics, char open) {
+		if (skip(body, diagnostics).isNoOutBounds() && body.charAt() == open) return true;
+		int index = body.indexOf(String.valueOf(open), body.pos());
+		if (index == -1) {
+			diagnostics.add(body, body.pos(), "不存在起始符号'" + open + "'");
+			return false;
+		}
+		diagnostics.add(body, body.pos(), "起始符号'" + open + "'之前存在数据");
+		body.pos(index);
+		return true;
+	}
+
+	private static boolean isKeyEnd(char c) {
+		return c == ':' || c == ',' || c == '{' || c == '}' || c == '[' || c == ']' || c == '\r' || c == '\n';
+	}
+
+	private static boolean isValueEnd(char c) {
+		return c == ',' || c == '}' || c == ']' || c == '\r' || c == '\n';
+	}
+
 }
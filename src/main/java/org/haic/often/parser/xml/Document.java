@@ -3,6 +3,14 @@ package org.haic.often.parser.xml;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.parser.ParserStringBuilder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * 这是一个html和xml解析器,使用方法为 Document doc = Document.parse(String)
  * <p>
@@ -15,6 +23,8 @@ import org.haic.often.parser.ParserStringBuilder;
 public class Document extends Element {
 
 	private final String type;
+	private final boolean isHtml;
+	private Map<String, Elements> tagIndex; // 标签名称索引
 
 	/**
 	 * 解析html文档
@@ -69,10 +79,103 @@ public class Document extends Element {
 
 	}
 
+	/**
+	 * 并行批量解析html文档,每个文档解析后立即交由提取函数处理并丢弃,返回结果顺序与数据源顺序一致
+	 * <p>
+	 * 使用 {@link ForkJoinPool#commonPool()} 执行解析,同一时间最多持有 CPU核心数*2 个文档
+	 *
+	 * @param bodies    html数据流
+	 * @param extractor 提取函数,用于从文档中获取需要的数据
+	 * @param <R>       提取结果类型
+	 * @return 提取结果
+	 */
+	public static <R> List<R> parseAll(@NotNull Stream<String> bodies, @NotNull Function<Document, R> extractor) {
+		return parseAll(bodies, Function.identity(), extractor, ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * 并行批量解析html文档,每个文档解析后立即交由提取函数处理并丢弃,返回结果顺序与数据源顺序一致
+	 * <p>
+	 * 数据源的读取(例如 Response::body)同样在线程池中执行,当正在处理的文档数量达到上限时,将阻塞数据流的消费,直至有文档处理完成
+	 *
+	 * @param sources      数据源
+	 * @param reader       读取函数,用于从数据源中获取html文本
+	 * @param extractor    提取函数,用于从文档中获取需要的数据
+	 * @param executor     执行解析的线程池
+	 * @param maxDocuments 同一时间最多持有的文档数量
+	 * @param <T>          数据源类型
+	 * @param <R>          提取结果类型
+	 * @return 提取结果
+	 */
+	public static <T, R> List<R> parseAll(@NotNull Stream<T> sources, @NotNull Function<? super T, String> reader, @NotNull Function<Document, R> extractor, @NotNull Executor executor, int maxDocuments) {
+		if (maxDocuments < 1) throw new IllegalArgumentException("maxDocuments Less than 1");
+		var permits = new Semaphore(maxDocuments);
+		var futures = new ArrayList<CompletableFuture<R>>();
+		sources.forEachOrdered(source -> {
+			permits.acquireUninterruptibly(); // 背压,限制内存中的文档数量
+			try {
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return extractor.apply(parse(reader.apply(source)));
+					} finally {
+						permits.release();
+					}
+				}, executor));
+			} catch (RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		});
+		var result = new ArrayList<R>(futures.size());
+		for (var future : futures) {
+			try {
+				result.add(future.join());
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+		return result;
+	}
+
 	private Document(@NotNull String type, @NotNull ParserStringBuilder node, boolean isHtml) {
 		super(null, node);
 		this.type = type;
-		Element tree = this;
+		this.isHtml = isHtml;
+		build(this, node, isHtml);
+		if (isHtml && node.stripLeading().pos() < node.length()) { // 不规范的网页可能存在越界标签,即html结束标签后仍然存在标签
+			var outbounds = new ParserStringBuilder("<body>" + node.substring(node.pos(), node.length()) + "</body>");
+			var body = this.selectFirst("@body"); // 修正为body标签子元素
+			if (body == null) body = this; // 不规范网页可能不存在body
+			for (var child : new Document("", outbounds, true).childs()) {
+				if (child instanceof Element e) body.addChild(e);
+			}
+		}
+	}
+
+	/**
+	 * 解析单个元素片段,片段必须以元素起始标签开始,并以对应的结束标签结束
+	 *
+	 * @param fragment 片段数据
+	 * @param isHtml   是否为html格式
+	 * @return 片段根元素,父节点为空
+	 */
+	static Element parseFragment(@NotNull String fragment, boolean isHtml) {
+		var node = new ParserStringBuilder(fragment);
+		var root = new Element(null, node);
+		if (root.name() == null) throw new IllegalArgumentException("在索引 0 处未找到元素起始标签");
+		if (!root.isClose()) build(root, node, isHtml);
+		return root;
+	}
+
+	/**
+	 * 从根元素的起始标签之后开始解析,构建子节点
+	 *
+	 * @param root   根元素
+	 * @param node   数据
+	 * @param isHtml 是否为html格式
+	 */
+	private static void build(@NotNull Element root, @NotNull ParserStringBuilder node, boolean isHtml) {
+		Element tree = root;
 		for (node.offset(1); node.stripLeading().isNoOutBounds() && tree != null; node.offset(1)) {
 			int start = node.stripLeading().pos(); // 记录初始位置
 			int tagHeadIndex = node.indexOf("<"); // 获取标签初始位置
@@ -87,9 +190,10 @@ public class Document extends Element {
 			if (!text.isEmpty()) tree.addChild(text);  // 提前写入文本,防止结束返回
 
 			if (node.charAt() == '/') { // 结束标签返回,允许多级返回
-				var name = node.offset(1).substring(node.pos(), node.pos(node.indexOf(">")).pos());
+				int nameStart = node.offset(1).pos();
+				var name = TagName.of(node, nameStart, node.pos(node.indexOf(">")).pos()); // 已转换为小写,常见标签为共享常量
 				for (var e = tree; e != null; e = e.parent()) {
-					if (name.equalsIgnoreCase(e.name())) {
+					if (name.equals(e.name())) {
 						tree = e.parent();
 						break;
 					}
@@ -97,6 +201,15 @@ public class Document extends Element {
 				continue;
 			}
 
+			if (node.startsWith("![CDATA[")) { // CDATA文本,不做反转义
+				int index = node.indexOf("]]>", node.pos() + 8);
+				if (index == -1) throw new IllegalStateException("在索引 " + tagHeadIndex + " 处CDATA未闭合");
+				var s = node.substring(node.pos() + 8, index).strip();
+				if (!s.isEmpty()) tree.addChild(s);
+				node.pos(index + 2);
+				continue;
+			}
+
 			if (node.charAt() == '!') { // 去除注释
 				node.pos(node.indexOf("-->", tagHeadIndex + 3) + 2);
 				continue;
@@ -134,14 +247,61 @@ public class Document extends Element {
 			tree.addChild(child);
 			if (!child.isClose()) tree = child; // 非自闭合标签,进入下级
 		}
-		if (isHtml && node.stripLeading().pos() < node.length()) { // 不规范的网页可能存在越界标签,即html结束标签后仍然存在标签
-			var outbounds = new ParserStringBuilder("<body>" + node.substring(node.pos(), node.length()) + "</body>");
-			var body = this.selectFirst("@body"); // 修正为body标签子元素
-			if (body == null) body = this; // 不规范网页可能不存在body
-			for (var child : new Document("", outbounds, true).childs()) {
-				if (child instanceof Element e) body.addChild(e);
-			}
+	}
+
+	/**
+	 * 构建标签名称索引,用于加速按标签名称查询,例: {@link #elementsByTag(String)} 以及 {@link XPath} 中以根节点开始的 "//name" 查询
+	 * <p>
+	 * 索引为构建时的快照,修改文档结构后需要重新调用此方法
+	 *
+	 * @return 当前文档
+	 */
+	public Document buildIndex() {
+		var index = new HashMap<String, Elements>();
+		for (var iterator = stream().iterator(); iterator.hasNext(); ) {
+			var e = iterator.next();
+			index.computeIfAbsent(e.name(), k -> new Elements()).add(e);
 		}
+		this.tagIndex = index;
+		return this;
+	}
+
+	/**
+	 * 判断当前文档是否已构建标签索引
+	 *
+	 * @return 判断结果
+	 */
+	public boolean isIndexed() {
+		return tagIndex != null;
+	}
+
+	/**
+	 * 获取文档中所有指定名称的元素(包含嵌套的同名元素),按文档顺序排列,如果已构建索引则直接从索引获取
+	 *
+	 * @param name 标签名称
+	 * @return 查询结果
+	 */
+	public Elements elementsByTag(@NotNull String name) {
+		var key = name.toLowerCase();
+		if (tagIndex != null) {
+			var es = tagIndex.get(key);
+			return es == null ? new Elements() : new Elements(es);
+		}
+		var result = new Elements();
+		for (var iterator = stream().iterator(); iterator.hasNext(); ) {
+			var e = iterator.next();
+			if (key.equals(e.name())) result.add(e);
+		}
+		return result;
+	}
+
+	/**
+	 * 判断当前文档是否按照html格式解析
+	 *
+	 * @return 判断结果
+	 */
+	public boolean isHtml() {
+		return isHtml;
 	}
 
 	/**
@@ -169,8 +329,10 @@ public class Document extends Element {
 	 * @return 反转义后的字符串
 	 */
 	public static String unescape(@NotNull String s) {
-		var sb = new StringBuilder();
-		for (int i = 0; i < s.length(); i++) {
+		int start = s.indexOf('&');
+		if (start == -1) return s;
+		var sb = new StringBuilder(s.length()).append(s, 0, start);
+		for (int i = start; i < s.length(); i++) {
 			if (s.charAt(i) == '&') {
 				int index = s.indexOf(";", i + 1);
 				if (index == -1) return sb.append(s.substring(i + 1)).toString();
@@ -0,0 +1,481 @@
+package org.haic.often.parser.xml;
+
+import org.haic.often.annotations.NotNull;
+import org.haic.often.parser.ParserStringBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 增量文档解析器,用于定时轮询的页面
+ * <p>
+ * 每次更新时比较新旧数据的公共前缀和后缀,找到包含全部变化的最小元素,只重新解析该元素并替换到原文档中,同时返回变化列表
+ * <p>
+ * 如果变化无法定位到单个元素(例: 涉及根元素,标签不规范导致无法对应),将重新解析整个文档
+ * <p>
+ * 使用方法: var patcher = DocumentPatcher.of(html); var patch = patcher.update(newHtml);
+ * <p>
+ * 此类不是线程安全的
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 15:20
+ */
+public class DocumentPatcher {
+
+	private String source;
+	private Document document;
+
+	private DocumentPatcher(@NotNull String source, @NotNull Document document) {
+		this.source = source;
+		this.document = document;
+	}
+
+	/**
+	 * 解析html文档并获取增量解析器
+	 *
+	 * @param body 数据
+	 * @return 增量解析器
+	 */
+	public static DocumentPatcher of(@NotNull String body) {
+		return of(body, true);
+	}
+
+	/**
+	 * 解析html或xml文档并获取增量解析器
+	 *
+	 * @param body   数据
+	 * @param isHtml 是否为html格式,如果文档顶部存在类型,将会自动判断覆盖此参数
+	 * @return 增量解析器
+	 */
+	public static DocumentPatcher of(@NotNull String body, boolean isHtml) {
+		return new DocumentPatcher(body, Document.parse(body, isHtml));
+	}
+
+	/**
+	 * 获取当前文档
+	 *
+	 * @return 文档
+	 */
+	public Document document() {
+		return document;
+	}
+
+	/**
+	 * 获取当前文档对应的数据
+	 *
+	 * @return 数据
+	 */
+	public String source() {
+		return source;
+	}
+
+	/**
+	 * 使用新的数据更新文档,仅重新解析发生变化的元素,如果文档已构建标签索引,将会重新构建
+	 *
+	 * @param body 新的数据
+	 * @return 更新结果
+	 */
+	public Patch update(@NotNull String body) {
+		if (body.equals(source)) return new Patch(document, List.of(), false);
+		var patch = patch(body);
+		if (patch == null) { // 无法定位变化元素,重新解析整个文档
+			var old = document;
+			document = Document.parse(body, old.isHtml());
+			var changes = new ArrayList<Change>();
+			diff(old, document, changes);
+			patch = new Patch(document, changes, true);
+		}
+		source = body;
+		if (document.isIndexed()) document.buildIndex();
+		return patch;
+	}
+
+	/**
+	 * 尝试仅重新解析发生变化的元素
+	 *
+	 * @param body 新的数据
+	 * @return 更新结果,无法定位变化元素时返回null
+	 */
+	private Patch patch(@NotNull String body) {
+		int oldLength = source.length();
+		int newLength = body.length();
+		int limit = Math.min(oldLength, newLength);
+		int from = 0;
+		while (from < limit && source.charAt(from) == body.charAt(from)) from++;
+		int suffix = 0;
+		while (suffix < limit - from && source.charAt(oldLength - 1 - suffix) == body.charAt(newLength - 1 - suffix)) suffix++;
+
+		var range = enclosing(from, oldLength - suffix);
+		if (range == null || range.parent == null) return null; // 根元素发生变化
+		var target = locate(range);
+		if (target == null) return null;
+
+		Element after;
+		try {
+			if (!same(Document.parseFragment(source.substring(range.start, range.closeEnd), document.isHtml()), target)) return null; // 片段解析结果与原文档不一致
+			var fragment = body.substring(range.start, range.closeEnd + newLength - oldLength);
+			if (!balanced(fragment, range.name)) return null; // 新片段会影响片段之外的元素
+			after = Document.parseFragment(fragment, document.isHtml());
+		} catch (RuntimeException e) {
+			return null;
+		}
+
+		var childs = target.parent().childs();
+		int index = 0;
+		while (childs.get(index) != target) index++;
+		childs.set(index, after);
+		after.parent(target.parent());
+
+		var changes = new ArrayList<Change>();
+		diff(target, after, changes);
+		return new Patch(document, changes, false);
+	}
+
+	/**
+	 * 扫描旧数据,获取完整包含变化区间的最深元素,变化区间不能与元素的起始和结束标签重叠
+	 *
+	 * @param from 变化区间起始位置
+	 * @param to   变化区间结束位置
+	 * @return 元素位置,无法确定时返回null
+	 */
+	private Range enclosing(int from, int to) {
+		var node = new ParserStringBuilder(source);
+		var isHtml = document.isHtml();
+		var stack = new ArrayDeque<Range>();
+		List<Range> snapshot = null; // 变化区间起始位置处未闭合的元素
+		var hasRoot = false;
+		for (int i = source.indexOf('<'), end; i != -1; i = source.indexOf('<', end)) {
+			String name = null;
+			if (source.startsWith("<!--", i)) {
+				end = tail(source.indexOf("-->", i + 4), 3);
+			} else if (source.startsWith("<![CDATA[", i)) {
+				end = tail(source.indexOf("]]>", i + 9), 3);
+			} else if (source.startsWith("<!", i) || source.startsWith("<?", i) || source.startsWith("</", i)) {
+				end = tail(source.indexOf(">", i + 2), 1);
+			} else {
+				end = tagTail(source, i + 1);
+				int nameEnd = i + 1;
+				while (nameEnd < end - 1 && !Character.isWhitespace(source.charAt(nameEnd)) && source.charAt(nameEnd) != '/' && source.charAt(nameEnd) != '>') nameEnd++;
+				if (end == -1 || nameEnd == i + 1) return null;
+				name = TagName.of(node, i + 1, nameEnd);
+				if (isHtml && TagName.isRawText(name)) { // 文本标签内容不作为元素
+					int index = source.indexOf("</" + name + ">", end);
+					if (index == -1) index = source.indexOf("</" + name.toUpperCase() + ">", end);
+					end = tail(index, name.length() + 3);
+				}
+			}
+			if (end == -1) return null;
+			if (snapshot == null && end > from) snapshot = new ArrayList<>(stack);
+
+			if (name == null) {
+				if (!source.startsWith("</", i)) continue;
+				var closeName = TagName.of(node, i + 2, end - 1);
+				if (stack.stream().noneMatch(e -> e.name.equals(closeName))) continue; // 多余的结束标签
+				for (var e = stack.pop(); ; e = stack.pop()) {
+					if (!e.name.equals(closeName)) continue; // 隐式闭合的元素没有确定的结束位置
+					if (i >= to && snapshot.contains(e)) {
+						e.closeEnd = end;
+						return e;
+					}
+					break;
+				}
+				continue;
+			}
+
+			var parent = stack.peek();
+			if (parent == null) {
+				if (hasRoot) return null; // 根元素之后存在越界标签
+				hasRoot = true;
+			}
+			var isClose = source.charAt(end - 2) == '/';
+			if (isHtml) { // 与 Document 中的html特殊标签处理保持一致
+				if ((name.equals("a") || name.equals("p")) && parent != null && name.equals(parent.name)) {
+					stack.pop();
+					if ((parent = stack.peek()) == null) return null;
+					isClose = true;
+				} else if (TagName.isRawText(name)) {
+					if (parent != null && parent.name.equals("div")) {
+						stack.pop();
+						if ((parent = stack.peek()) == null) return null;
+					}
+					isClose = true;
+				} else if (TagName.isVoid(name)) {
+					isClose = true;
+				}
+			}
+			var e = new Range(name, parent, parent == null ? 0 : parent.count++, i);
+			if (!isClose) stack.push(e);
+		}
+		return null;
+	}
+
+	/**
+	 * 判断新片段是否为一个独立的元素: 以指定名称的标签开始,在片段结束处恰好闭合,且不包含未在片段内开始的元素的结束标签
+	 * <p>
+	 * 不满足时片段会闭合或改变其祖先元素,完整解析的结果与单独解析片段不一致
+	 *
+	 * @param fragment 新片段
+	 * @param name     元素名称
+	 * @return 判断结果
+	 */
+	private boolean balanced(@NotNull String fragment, @NotNull String name) {
+		if (!fragment.startsWith("<")) return false;
+		var node = new ParserStringBuilder(fragment);
+		var isHtml = document.isHtml();
+		var stack = new ArrayDeque<String>();
+		for (int i = 0, end; i != -1; i = fragment.indexOf('<', end)) {
+			if (fragment.startsWith("<!--", i)) {
+				end = tail(fragment.indexOf("-->", i + 4), 3);
+			} else if (fragment.startsWith("<![CDATA[", i)) {
+				end = tail(fragment.indexOf("]]>", i + 9), 3);
+			} else if (fragment.startsWith("<!", i) || fragment.startsWith("<?", i)) {
+				end = tail(fragment.indexOf(">", i + 2), 1);
+			} else if (fragment.startsWith("</", i)) {
+				end = tail(fragment.indexOf(">", i + 2), 1);
+				if (end == -1) return false;
+				var closeName = TagName.of(node, i + 2, end - 1);
+				if (!stack.contains(closeName)) return false; // 结束片段之外的元素
+				while (!stack.pop().equals(closeName)) ; // 隐式闭合的元素
+				if (stack.isEmpty()) return end == fragment.length();
+				continue;
+			} else {
+				end = tagTail(fragment, i + 1);
+				int nameEnd = i + 1;
+				while (nameEnd < end - 1 && !Character.isWhitespace(fragment.charAt(nameEnd)) && fragment.charAt(nameEnd) != '/' && fragment.charAt(nameEnd) != '>') nameEnd++;
+				if (end == -1 || nameEnd == i + 1) return false;
+				var tag = TagName.of(node, i + 1, nameEnd);
+				if (stack.isEmpty() && (i != 0 || !tag.equals(name))) return false; // 片段根元素之外的标签
+				var isClose = fragment.charAt(end - 2) == '/';
+				if (isHtml) { // 与 enclosing 中的html特殊标签处理保持一致
+					if ((tag.equals("a") || tag.equals("p")) && tag.equals(stack.peek())) {
+						stack.pop();
+						if (stack.isEmpty()) return false; // 片段根元素被隐式闭合
+						isClose = true;
+					} else if (TagName.isRawText(tag)) {
+						if ("div".equals(stack.peek())) {
+							stack.pop();
+							if (stack.isEmpty()) return false;
+						}
+						int index = fragment.indexOf("</" + tag + ">", end);
+						if (index == -1) index = fragment.indexOf("</" + tag.toUpperCase() + ">", end);
+						end = tail(index, tag.length() + 3);
+						isClose = true;
+					} else if (TagName.isVoid(tag)) {
+						isClose = true;
+					}
+				}
+				if (end == -1) return false;
+				if (!isClose) stack.push(tag);
+				else if (stack.isEmpty()) return end == fragment.length();
+			}
+			if (end == -1) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * 获取标签的结束位置,属性值中的 '>' 不作为结束
+	 *
+	 * @param source 数据
+	 * @param i      标签名称起始位置
+	 * @return 标签结束位置(不包含),不存在时返回-1
+	 */
+	private static int tagTail(@NotNull String source, int i) {
+		for (char quote = 0; i < source.length(); i++) {
+			var c = source.charAt(i);
+			if (quote != 0) {
+				if (c == quote) quote = 0;
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '>') {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	private static int tail(int index, int length) {
+		return index == -1 ? -1 : index + length;
+	}
+
+	/**
+	 * 按照元素在各级父元素中的位置,从文档中获取对应的元素
+	 *
+	 * @param range 元素位置
+	 * @return 元素,名称不一致时返回null
+	 */
+	private Element locate(@NotNull Range range) {
+		var path = new ArrayDeque<Range>();
+		var root = range;
+		for (; root.parent != null; root = root.parent) path.push(root);
+		if (!root.name.equals(document.name())) return null;
+		Element element = document;
+		for (var e : path) {
+			Element next = null;
+			int count = 0;
+			for (var child : element.childs()) {
+				if (child instanceof Element c && count++ == e.index) {
+					next = c;
+					break;
+				}
+			}
+			if (next == null || !e.name.equals(next.name())) return null;
+			element = next;
+		}
+		return element;
+	}
+
+	/**
+	 * 判断两个节点的结构是否完全一致
+	 *
+	 * @param a 节点
+	 * @param b 节点
+	 * @return 判断结果
+	 */
+	private static boolean same(Object a, Object b) {
+		var stack = new ArrayDeque<Object>();
+		stack.push(a);
+		stack.push(b);
+		while (!stack.isEmpty()) {
+			var y = stack.pop();
+			var x = stack.pop();
+			if (x instanceof String s) {
+				if (!s.equals(y)) return false;
+			} else if (x instanceof Element e && y instanceof Element f) {
+				if (!equalsTag(e, f) || e.childs().size() != f.childs().size()) return false;
+				for (int i = 0; i < e.childs().size(); i++) {
+					stack.push(e.childs().get(i));
+					stack.push(f.childs().get(i));
+				}
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equalsTag(@NotNull Element a, @NotNull Element b) {
+		return a.name().equals(b.name()) && a.isClose() == b.isClose() && a.attrsView().equals(b.attrsView());
+	}
+
+	/**
+	 * 比较两个元素,写入变化列表,子节点去除相同的首尾部分后,数量一致时逐个比较,否则视为删除后添加
+	 *
+	 * @param before  旧元素
+	 * @param after   新元素
+	 * @param changes 变化列表
+	 */
+	private static void diff(@NotNull Element before, @NotNull Element after, @NotNull List<Change> changes) {
+		var stack = new ArrayDeque<Element>();
+		stack.push(before);
+		stack.push(after);
+		while (!stack.isEmpty()) {
+			var n = stack.pop();
+			var o = stack.pop();
+			if (!o.attrsView().equals(n.attrsView())) changes.add(new Change(Type.ATTRS, n, new TagAttrs(o.attrsView()), new TagAttrs(n.attrsView()))); // 复制属性,避免修改共享实例或文档
+			var oc = o.childs();
+			var nc = n.childs();
+			int limit = Math.min(oc.size(), nc.size());
+			int head = 0;
+			while (head < limit && same(oc.get(head), nc.get(head))) head++;
+			int tail = 0;
+			while (tail < limit - head && same(oc.get(oc.size() - 1 - tail), nc.get(nc.size() - 1 - tail))) tail++;
+			int oldEnd = oc.size() - tail;
+			int newEnd = nc.size() - tail;
+			if (oldEnd - head == newEnd - head) {
+				for (int i = head; i < oldEnd; i++) {
+					var x = oc.get(i);
+					var y = nc.get(i);
+					if (x instanceof String s && y instanceof String t) {
+						changes.add(new Change(Type.TEXT, n, s, t));
+					} else if (x instanceof Element e && y instanceof Element f && e.name().equals(f.name()) && e.isClose() == f.isClose()) {
+						stack.push(e);
+						stack.push(f);
+					} else {
+						changes.add(new Change(Type.REMOVED, n, x, null));
+						changes.add(new Change(Type.ADDED, n, null, y));
+					}
+				}
+			} else {
+				for (int i = head; i < oldEnd; i++) changes.add(new Change(Type.REMOVED, n, oc.get(i), null));
+				for (int i = head; i < newEnd; i++) changes.add(new Change(Type.ADDED, n, null, nc.get(i)));
+			}
+		}
+	}
+
+	/**
+	 * 扫描时记录的元素位置
+	 */
+	private static class Range {
+
+		private final String name;
+		private final Range parent;
+		private final int index; // 在父元素的子元素中的位置
+		private final int start;
+		private int closeEnd;
+		private int count; // 子元素数量
+
+		private Range(@NotNull String name, Range parent, int index, int start) {
+			this.name = name;
+			this.parent = parent;
+			this.index = index;
+			this.start = start;
+		}
+
+	}
+
+	/**
+	 * 更新结果
+	 *
+	 * @param document 更新后的文档
+	 * @param changes  变化列表
+	 * @param reparsed 是否重新解析了整个文档
+	 */
+	public record Patch(Document document, List<Change> changes, boolean reparsed) {
+
+		/**
+		 * 判断文档内容是否发生变化
+		 *
+		 * @return 判断结果
+		 */
+		public boolean isChanged() {
+			return !changes.isEmpty();
+		}
+
+	}
+
+	/**
+	 * 节点变化
+	 *
+	 * @param type    变化类型
+	 * @param element 新文档中发生变化的元素,对于子节点的变化为其父元素
+	 * @param before  变化前的内容: 删除的子节点,旧文本或旧属性(副本)
+	 * @param after   变化后的内容: 添加的子节点,新文本或新属性(副本)
+	 */
+	public record Change(Type type, Element element, Object before, Object after) {}
+
+	/**
+	 * 变化类型
+	 */
+	public enum Type {
+		/**
+		 * 添加子节点
+		 */
+		ADDED,
+		/**
+		 * 删除子节点
+		 */
+		REMOVED,
+		/**
+		 * 文本变化
+		 */
+		TEXT,
+		/**
+		 * 属性变化
+		 */
+		ATTRS
+	}
+
+}
@@ -3,9 +3,11 @@ package org.haic.often.parser.xml;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.parser.ParserStringBuilder;
 
-import java.util.Map;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * xml解析器
@@ -52,6 +54,19 @@ public class Element extends XmlTree {
 		return new XmlPath(this).select(cssQuery);
 	}
 
+	/**
+	 * 按照XPath表达式查询元素,仅返回元素节点,支持的语法查看 {@link XPath}
+	 * <p>
+	 * 需要重复使用的表达式,应当使用 {@link XPath#compile(String)} 编译后复用
+	 *
+	 * @param xpath XPath表达式
+	 * @return 查询结果
+	 */
+	@NotNull
+	public Elements selectXpath(@NotNull String xpath) {
+		return XPath.compile(xpath).select(this);
+	}
+
 	/**
 	 * 按照指定条件筛选元素
 	 *
@@ -60,11 +75,34 @@ public class Element extends XmlTree {
 	 */
 	public Elements select(@NotNull Predicate<Element> predicate) {
 		var result = new Elements();
-		if (predicate.test(this)) return result.fluentAdd(this);
-		for (var child : childs()) if (child instanceof Element e) result.addAll(e.select(predicate));
+		for (var iterator = new ElementIterator(this, true); iterator.hasNext(); ) {
+			var e = iterator.next();
+			if (predicate.test(e)) {
+				result.add(e);
+				iterator.skipChilds(); // 已匹配节点不再查询子节点
+			}
+		}
 		return result;
 	}
 
+	/**
+	 * 以深度优先顺序获取当前节点及其所有后代元素的流,使用迭代方式遍历,不会因嵌套过深导致栈溢出
+	 *
+	 * @return 元素流
+	 */
+	public Stream<Element> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ElementIterator(this, true), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * 以深度优先顺序获取当前节点的所有后代元素(不包含当前节点),使用迭代方式遍历,不会因嵌套过深导致栈溢出
+	 *
+	 * @return 后代元素迭代器
+	 */
+	public Iterator<Element> descendants() {
+		return new ElementIterator(this, false);
+	}
+
 	/**
 	 * 添加属性
 	 *
@@ -183,4 +221,52 @@ public class Element extends XmlTree {
 		return super.childs().stream().filter(e -> e instanceof XmlTree).map(e -> (Element) e).collect(Collectors.toCollection(Elements::new));
 	}
 
+	/**
+	 * 深度优先元素迭代器,使用栈保存遍历位置
+	 */
+	private static class ElementIterator implements Iterator<Element> {
+
+		private final Deque<Iterator<Object>> stack = new ArrayDeque<>();
+		private Element next;
+		private Element last;
+
+		private ElementIterator(@NotNull Element root, boolean self) {
+			if (self) next = root;
+			else stack.push(root.childs().iterator());
+		}
+
+		/**
+		 * 跳过上一个返回元素的子节点
+		 */
+		private void skipChilds() {
+			last = null;
+		}
+
+		public boolean hasNext() {
+			if (next != null) return true;
+			if (last != null) { // 进入上一个元素的子节点
+				stack.push(last.childs().iterator());
+				last = null;
+			}
+			while (!stack.isEmpty()) {
+				var iterator = stack.peek();
+				if (!iterator.hasNext()) {
+					stack.pop();
+				} else if (iterator.next() instanceof Element e) {
+					next = e;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		public Element next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			last = next;
+			next = null;
+			return last;
+		}
+
+	}
+
 }
@@ -75,7 +75,9 @@ public class Elements extends ArrayList<Element> {
 	 * @return 筛选结果
 	 */
 	public Elements select(@NotNull Predicate<Element> predicate) {
-		return this.stream().map(e -> e.select(predicate)).flatMap(Elements::stream).collect(Collectors.toCollection(Elements::new));
+		var result = new Elements();
+		for (var e : this) result.addAll(e.select(predicate));
+		return result;
 	}
 
 	/**
@@ -3,6 +3,9 @@ package org.haic.often.parser.xml;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.util.Validate;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Html转义枚举
  *
@@ -1071,6 +1074,12 @@ public enum HtmlEscape {
 	 */
 	diams(9830);
 
+	private static final Map<String, HtmlEscape> TABLE = new HashMap<>(); // 转义名称表
+
+	static {
+		for (var value : values()) TABLE.put(value.name(), value);
+	}
+
 	private final int c;
 
 	HtmlEscape(int c) {
@@ -1092,6 +1101,17 @@ public enum HtmlEscape {
 		return s.charAt(1) == '#' ? (char) (s.charAt(2) == 'x' ? Integer.parseInt(s.substring(3, s.length() - 1), 16) : Integer.parseInt(s.substring(2, s.length() - 1))) : HtmlEscape.valueOf(s.substring(1, s.length() - 1)).getValue();
 	}
 
+	/**
+	 * 按照转义名称获取字符,不抛出异常
+	 *
+	 * @param name 转义名称,不包含 '&' 和 ';'
+	 * @return 字符,未知转义名称返回-1
+	 */
+	static int lookup(@NotNull String name) {
+		var value = TABLE.get(name);
+		return value == null ? -1 : value.c;
+	}
+
 	/**
 	 * 获取当前字符转义字符串,如果不存在对应值,则返回其本身
 	 *
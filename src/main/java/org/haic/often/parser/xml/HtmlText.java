@@ -0,0 +1,261 @@
+package org.haic.often.parser.xml;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * html文本提取器,不构建文档树,单次扫描直接输出可见文本
+ * <p>
+ * 跳过 script, style, noscript 标签内容以及注释,标签视为单词分隔,连续空白合并为一个空格,转义字符通过转义表反转义
+ * <p>
+ * 使用方法: HtmlText.extract(html) 或 HtmlText.extract(html, writer)
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 16:48
+ */
+public class HtmlText {
+
+	private static final int MAX_ESCAPE_LENGTH = 32; // 转义字符最大长度
+
+	private final CharSequence html;
+	private final Appendable out;
+	private boolean started; // 是否已输出文本
+	private boolean space; // 是否存在待输出的空格
+
+	private HtmlText(@NotNull CharSequence html, @NotNull Appendable out) {
+		this.html = html;
+		this.out = out;
+	}
+
+	/**
+	 * 提取html中的可见文本
+	 *
+	 * @param html html数据
+	 * @return 文本
+	 */
+	public static String extract(@NotNull CharSequence html) {
+		var sb = new StringBuilder(html.length() >> 2);
+		try {
+			extract(html, sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 提取html中的可见文本并写入输出
+	 *
+	 * @param html html数据
+	 * @param out  输出,例: StringBuilder, Writer
+	 * @throws IOException 写入输出时发生异常
+	 */
+	public static void extract(@NotNull CharSequence html, @NotNull Appendable out) throws IOException {
+		new HtmlText(html, out).run();
+	}
+
+	private void run() throws IOException {
+		int length = html.length();
+		for (int i = 0; i < length; ) {
+			var c = html.charAt(i);
+			if (c == '<' && i + 1 < length) {
+				var next = html.charAt(i + 1);
+				if (next == '!') {
+					i = skipMarkup(i);
+					continue;
+				} else if (next == '?') {
+					i = skip(i, ">");
+					continue;
+				} else if (next == '/' || Character.isLetter(next)) {
+					i = tag(i);
+					continue;
+				}
+			}
+			if (c == '&') {
+				i = escape(i, length);
+				continue;
+			}
+			write(c);
+			i++;
+		}
+	}
+
+	/**
+	 * 处理标签,文本标签直接跳过内容
+	 *
+	 * @param i 标签起始位置
+	 * @return 处理后的位置
+	 */
+	private int tag(int i) {
+		space = started; // 标签视为单词分隔
+		var isEnd = html.charAt(i + 1) == '/';
+		int nameStart = isEnd ? i + 2 : i + 1;
+		int nameEnd = nameStart;
+		while (nameEnd < html.length() && isNameChar(html.charAt(nameEnd))) nameEnd++;
+		int end = tagTail(nameEnd);
+		if (isEnd || html.charAt(end - 2) == '/') return end;
+		if (matches(nameStart, nameEnd, "script") || matches(nameStart, nameEnd, "style") || matches(nameStart, nameEnd, "noscript")) return skipRawText(end, nameStart, nameEnd);
+		return end;
+	}
+
+	/**
+	 * 跳过文本标签内容直至对应结束标签
+	 *
+	 * @param i         内容起始位置
+	 * @param nameStart 标签名称起始位置
+	 * @param nameEnd   标签名称结束位置
+	 * @return 结束标签之后的位置
+	 */
+	private int skipRawText(int i, int nameStart, int nameEnd) {
+		for (int length = html.length(); i < length; i++) {
+			if (html.charAt(i) != '<' || i + 1 >= length || html.charAt(i + 1) != '/') continue;
+			int end = i + 2 + nameEnd - nameStart;
+			if (end <= length && regionMatches(i + 2, nameStart, nameEnd - nameStart) && (end == length || !isNameChar(html.charAt(end)))) return tagTail(end);
+		}
+		return html.length();
+	}
+
+	/**
+	 * 跳过注释,CDATA内容作为文本输出
+	 *
+	 * @param i 起始位置
+	 * @return 处理后的位置
+	 */
+	private int skipMarkup(int i) throws IOException {
+		if (startsWith(i, "<!--")) return skip(i + 4, "-->");
+		if (startsWith(i, "<![CDATA[")) {
+			int end = indexOf(i + 9, "]]>");
+			for (int j = i + 9, limit = end == -1 ? html.length() : end; j < limit; j++) write(html.charAt(j));
+			return end == -1 ? html.length() : end + 3;
+		}
+		return skip(i, ">");
+	}
+
+	/**
+	 * 反转义字符,未知的转义字符按原样输出
+	 *
+	 * @param i      '&' 所在位置
+	 * @param length 数据长度
+	 * @return 处理后的位置
+	 */
+	private int escape(int i, int length) throws IOException {
+		int end = i + 1;
+		for (int limit = Math.min(length, i + MAX_ESCAPE_LENGTH); end < limit && html.charAt(end) != ';' && html.charAt(end) != '&' && html.charAt(end) != '<' && !Character.isWhitespace(html.charAt(end)); ) end++;
+		int c = -1;
+		if (end < length && html.charAt(end) == ';' && end > i + 1) {
+			if (html.charAt(i + 1) == '#') c = codePoint(i + 2, end);
+			else c = HtmlEscape.lookup(html.subSequence(i + 1, end).toString());
+		}
+		if (c == -1) {
+			write('&');
+			return i + 1;
+		}
+		if (Character.isBmpCodePoint(c)) {
+			write((char) c);
+		} else {
+			write(Character.highSurrogate(c));
+			write(Character.lowSurrogate(c));
+		}
+		return end + 1;
+	}
+
+	/**
+	 * 解析数字转义字符
+	 *
+	 * @param start 数字起始位置(包含 'x')
+	 * @param end   ';' 所在位置
+	 * @return 字符代码,格式不正确时返回-1
+	 */
+	private int codePoint(int start, int end) {
+		var hex = start < end && (html.charAt(start) == 'x' || html.charAt(start) == 'X');
+		if (hex) start++;
+		if (start == end) return -1;
+		int c = 0;
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit(html.charAt(i), hex ? 16 : 10);
+			if (digit == -1) return -1;
+			c = c * (hex ? 16 : 10) + digit;
+			if (c > Character.MAX_CODE_POINT) return -1;
+		}
+		return c;
+	}
+
+	/**
+	 * 输出字符,连续空白合并为一个空格,首尾空白不输出
+	 *
+	 * @param c 字符
+	 */
+	private void write(char c) throws IOException {
+		if (Character.isWhitespace(c)) {
+			space = started;
+		} else {
+			if (space) out.append(' ');
+			out.append(c);
+			space = false;
+			started = true;
+		}
+	}
+
+	private int tagTail(int i) {
+		for (char quote = 0; i < html.length(); i++) {
+			var c = html.charAt(i);
+			if (quote != 0) {
+				if (c == quote) quote = 0;
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '>') {
+				return i + 1;
+			}
+		}
+		return html.length();
+	}
+
+	private int skip(int i, @NotNull String end) {
+		int index = indexOf(i, end);
+		return index == -1 ? html.length() : index + end.length();
+	}
+
+	private int indexOf(int from, @NotNull String s) {
+		for (int i = from, limit = html.length() - s.length(); i <= limit; i++) {
+			if (startsWith(i, s)) return i;
+		}
+		return -1;
+	}
+
+	private boolean startsWith(int i, @NotNull String s) {
+		if (i + s.length() > html.length()) return false;
+		for (int j = 0; j < s.length(); j++) {
+			if (html.charAt(i + j) != s.charAt(j)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 判断指定区间是否为指定名称,忽略大小写
+	 */
+	private boolean matches(int start, int end, @NotNull String name) {
+		if (end - start != name.length()) return false;
+		for (int i = start; i < end; i++) {
+			if (Character.toLowerCase(html.charAt(i)) != name.charAt(i - start)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 判断两个区间内容是否相同,忽略大小写
+	 */
+	private boolean regionMatches(int a, int b, int length) {
+		for (int i = 0; i < length; i++) {
+			if (Character.toLowerCase(html.charAt(a + i)) != Character.toLowerCase(html.charAt(b + i))) return false;
+		}
+		return true;
+	}
+
+	private static boolean isNameChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+	}
+
+}
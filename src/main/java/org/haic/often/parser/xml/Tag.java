@@ -20,26 +20,30 @@ public class Tag {
 
 	public Tag(@NotNull String name) {
 		this.name = name;
-		this.attrs = new TagAttrs();
+		this.attrs = TagAttrs.EMPTY;
 		this.isClose = false;
 	}
 
 	protected Tag(@NotNull ParserStringBuilder node) {
 		if (node.offset(1).charAt() == '/' || node.charAt() == '!') return; // 结束标签和注释
-		var name = new StringBuilder();
+		int start = node.pos();
+		int end = -1;
 		for (var c = node.charAt(); c != '>'; c = node.offset(1).charAt()) {
 			if (c == '/' && node.charAt(node.pos() + 1) == '>') {
 				var e = node.charAt(node.pos() + 1);
 				if (e == '>' || (e == ' ' && node.stripLeading().charAt() == '>')) {
 					this.isClose = true;
-					this.attrs = new TagAttrs();
+					this.attrs = TagAttrs.EMPTY;
+					end = node.pos();
 					node.offset(1);
 					break;
 				}
 				throw new IllegalArgumentException("在索引 " + node.pos() + " 处存在未知意义 '/' 符号");
 			}
 			if (c == ' ') {
+				end = node.pos();
 				this.attrs = new TagAttrs(node);
+				if (this.attrs.isEmpty()) this.attrs = TagAttrs.EMPTY;
 				if (node.charAt() == '/') {
 					this.isClose = true;
 					node.offset(1);
@@ -47,10 +51,9 @@ public class Tag {
 				break;
 			}
 			if (c == '<') return;
-			name.append(c);
 		}
-		this.name = name.toString().strip().toLowerCase();
-		if (this.attrs == null) this.attrs = new TagAttrs();
+		this.name = TagName.of(node, start, end == -1 ? node.pos() : end);
+		if (this.attrs == null) this.attrs = TagAttrs.EMPTY;
 	}
 
 	/**
@@ -68,6 +71,16 @@ public class Tag {
 	 * @return 全部标签属性
 	 */
 	public TagAttrs attrs() {
+		if (attrs == TagAttrs.EMPTY) attrs = new TagAttrs(); // 不存在属性时共享空实例,获取时创建可修改的实例
+		return attrs;
+	}
+
+	/**
+	 * 获取当前标签的全部属性,仅用于只读访问,不存在属性时返回共享的空实例
+	 *
+	 * @return 全部标签属性
+	 */
+	TagAttrs attrsView() {
 		return attrs;
 	}
 
@@ -89,7 +102,7 @@ public class Tag {
 	 * @return 当前标签
 	 */
 	public Tag attr(@NotNull String key, @NotNull String value) {
-		this.attrs.put(key, value);
+		attrs().put(key, value);
 		return this;
 	}
 
@@ -131,7 +144,7 @@ public class Tag {
 	 * @return 当前标签
 	 */
 	public Tag addAttrs(@NotNull Map<String, String> attrs) {
-		this.attrs.putAll(attrs);
+		if (!attrs.isEmpty()) attrs().putAll(attrs);
 		return this;
 	}
 
@@ -166,9 +179,19 @@ public class Tag {
 		return isClose;
 	}
 
+	/**
+	 * 将当前标签写入缓冲区
+	 *
+	 * @param sb 缓冲区
+	 * @return 缓冲区
+	 */
+	protected StringBuilder appendTag(@NotNull StringBuilder sb) {
+		return attrs.appendTo(sb.append('<').append(name)).append(isClose ? "/>" : ">");
+	}
+
 	@Override
 	public String toString() {
-		return "<" + name + attrs + (isClose ? "/>" : ">");
+		return appendTag(new StringBuilder()).toString();
 	}
 
 }
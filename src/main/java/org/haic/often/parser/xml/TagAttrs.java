@@ -3,39 +3,65 @@ package org.haic.often.parser.xml;
 import org.haic.often.annotations.NotNull;
 import org.haic.often.parser.ParserStringBuilder;
 
-import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * XML标签属性
+ * <p>
+ * 属性以键值交替的方式存放在数组中,属性数量较多时额外建立哈希索引,常用属性名称使用共享常量,不会重复创建字符串
+ * <p>
+ * 注意: 此类曾继承 {@link HashMap},现继承 {@link AbstractMap},不再提供 clone() 等 HashMap 特有的方法,依赖 HashMap 类型的代码请使用 new HashMap<>(attrs) 转换;遍历顺序为属性在源码中的顺序
  *
  * @author haicdust
  * @version 1.0
  * @since 2023/1/22 17:36
  */
-public class TagAttrs extends HashMap<String, String> {
+public class TagAttrs extends AbstractMap<String, String> {
+
+	/**
+	 * 共享的空属性,不可修改
+	 */
+	static final TagAttrs EMPTY = new TagAttrs();
+
+	private static final String[] EMPTY_DATA = {};
+	private static final int INDEX_THRESHOLD = 8; // 超过此数量时建立哈希索引
+	private static final String[] NAMES = {"class", "id", "href", "src", "style", "type", "name", "value", "title", "alt", "rel", "content", "target", "width", "height", "lang", "charset", "property", "action", "method", "for", "role", "tabindex", "placeholder", "xmlns"}; // 常用属性名称
+
+	private String[] data = EMPTY_DATA; // 键值交替存放
+	private int size;
+	private Map<String, Integer> index; // 属性名称索引
 
 	public TagAttrs() {super();}
 
+	/**
+	 * 复制指定属性
+	 *
+	 * @param attrs 属性
+	 */
+	public TagAttrs(@NotNull Map<? extends String, ? extends String> attrs) {
+		data = new String[attrs.size() << 1];
+		for (var entry : attrs.entrySet()) put(entry.getKey(), entry.getValue());
+	}
+
 	protected TagAttrs(@NotNull ParserStringBuilder node) {
 		node:
 		for (var c = node.offset(1).stripLeading().charAt(); c != '>'; c = node.offset(1).stripLeading().charAt()) {
-			if (c == '<') return;
-			if (node.charAt() == '/' && node.charAt(node.pos() + 1) == '>') return;
-			var key = new StringBuilder();
+			if (c == '<') break;
+			if (node.charAt() == '/' && node.charAt(node.pos() + 1) == '>') break;
+			int start = node.pos();
 			for (var ck = node.charAt(); ck != '='; ck = node.offset(1).charAt()) {
-				if (node.charAt() == ' ') {
-					this.put(key.toString(), null);
+				if (ck == ' ') {
+					this.put(name(node, start, node.pos()), null);
 					continue node;
 				}
-				key.append(ck);
 			}
+			var key = name(node, start, node.pos());
 			switch (node.offset(1).charAt()) {
-				case '"', '\'' -> this.put(key.toString(), node.intercept());
+				case '"', '\'' -> this.put(key, node.intercept());
 				case '&' -> {
 					if (node.startsWith("&quot;")) {
 						int index = node.offset(6).indexOf("&quot;");
-						this.put(key.toString(), node.offset(6).substring(node.pos(), index));
+						this.put(key, node.offset(6).substring(node.pos(), index));
 						node.offset(5);
 					} else {
 						throw new IllegalArgumentException("在索引 " + node.pos() + " 处存在未知意义符号");
@@ -43,11 +69,165 @@ public class TagAttrs extends HashMap<String, String> {
 				}
 			}
 		}
+		if (data.length > size << 1) data = Arrays.copyOf(data, size << 1); // 解析完成后释放多余空间
+	}
+
+	/**
+	 * 获取属性名称,常用名称返回共享常量
+	 *
+	 * @param node  数据
+	 * @param start 起始位置
+	 * @param end   结束位置
+	 * @return 属性名称
+	 */
+	private static String name(@NotNull ParserStringBuilder node, int start, int end) {
+		int length = end - start;
+		for (var name : NAMES) {
+			if (name.length() == length && node.startsWith(name, start)) return name;
+		}
+		return node.substring(start, end);
+	}
+
+	/**
+	 * 获取指定属性在数组中的位置
+	 *
+	 * @param key 属性名称
+	 * @return 键的下标,不存在时返回-1
+	 */
+	private int indexOf(Object key) {
+		if (index != null) return index.getOrDefault(key, -1);
+		if (size > INDEX_THRESHOLD) {
+			index = new HashMap<>(size << 1);
+			for (int i = 0; i < size << 1; i += 2) index.put(data[i], i);
+			return index.getOrDefault(key, -1);
+		}
+		for (int i = 0; i < size << 1; i += 2) {
+			if (Objects.equals(data[i], key)) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * 删除指定位置的属性
+	 *
+	 * @param i 键的下标
+	 * @return 属性值
+	 */
+	private String removeAt(int i) {
+		var value = data[i + 1];
+		System.arraycopy(data, i + 2, data, i, (size << 1) - i - 2);
+		data[(size << 1) - 1] = data[(size << 1) - 2] = null;
+		size--;
+		index = null;
+		return value;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) != -1;
+	}
+
+	@Override
+	public String get(Object key) {
+		int i = indexOf(key);
+		return i == -1 ? null : data[i + 1];
+	}
+
+	@Override
+	public String put(String key, String value) {
+		if (this == EMPTY) throw new UnsupportedOperationException("共享的空属性不可修改");
+		int i = indexOf(key);
+		if (i != -1) {
+			var old = data[i + 1];
+			data[i + 1] = value;
+			return old;
+		}
+		if (size << 1 == data.length) data = Arrays.copyOf(data, Math.max(4, data.length << 1));
+		data[size << 1] = key;
+		data[(size << 1) + 1] = value;
+		if (index != null) index.put(key, size << 1);
+		size++;
+		return null;
+	}
+
+	@Override
+	public String remove(Object key) {
+		int i = indexOf(key);
+		return i == -1 ? null : removeAt(i);
+	}
+
+	@Override
+	public void clear() {
+		if (size == 0) return;
+		Arrays.fill(data, 0, size << 1, null);
+		size = 0;
+		index = null;
+	}
+
+	@NotNull
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		return new AbstractSet<>() {
+			public Iterator<Entry<String, String>> iterator() {
+				return new Iterator<>() {
+					private int cursor;
+					private int last = -1;
+
+					public boolean hasNext() {
+						return cursor < size << 1;
+					}
+
+					public Entry<String, String> next() {
+						if (!hasNext()) throw new NoSuchElementException();
+						int i = last = cursor;
+						cursor += 2;
+						return new SimpleEntry<>(data[i], data[i + 1]) {
+							public String setValue(String value) {
+								var old = super.setValue(value);
+								int j = indexOf(getKey()); // 按名称重新查找,遍历中删除属性后位置可能已改变
+								if (j != -1) data[j + 1] = value;
+								return old;
+							}
+						};
+					}
+
+					public void remove() {
+						if (last == -1) throw new IllegalStateException();
+						removeAt(last);
+						cursor = last;
+						last = -1;
+					}
+				};
+			}
+
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * 将全部属性写入缓冲区
+	 *
+	 * @param sb 缓冲区
+	 * @return 缓冲区
+	 */
+	StringBuilder appendTo(@NotNull StringBuilder sb) {
+		for (int i = 0; i < size << 1; i += 2) {
+			sb.append(' ').append(data[i]);
+			if (data[i + 1] != null) sb.append("=\"").append(data[i + 1]).append('"');
+		}
+		return sb;
 	}
 
 	@Override
 	public String toString() {
-		return this.entrySet().stream().map(l -> " " + (l.getValue() == null ? l.getKey() : l.getKey() + "=\"" + l.getValue() + '"')).collect(Collectors.joining());
+		return appendTo(new StringBuilder()).toString();
 	}
 
 }
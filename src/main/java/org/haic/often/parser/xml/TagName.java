@@ -0,0 +1,98 @@
+package org.haic.often.parser.xml;
+
+import org.haic.often.annotations.NotNull;
+import org.haic.often.parser.ParserStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 标签名称常量表
+ * <p>
+ * 常见html标签名称通过逐字符忽略大小写比较直接获取共享常量,不创建新的字符串,未知名称按原方式截取并转换为小写
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 13:40
+ */
+final class TagName {
+
+	private static final String[] NAMES = {
+			"a", "abbr", "address", "area", "article", "aside", "audio", "b", "base", "bdi", "bdo", "blockquote", "body", "br", "button",
+			"canvas", "caption", "center", "cite", "code", "col", "colgroup", "command", "data", "datalist", "dd", "del", "details", "dfn", "dialog", "div", "dl", "dt",
+			"em", "embed", "fieldset", "figcaption", "figure", "font", "footer", "form", "frame", "frameset", "h1", "h2", "h3", "h4", "h5", "h6", "head", "header", "hgroup", "hr", "html",
+			"i", "iframe", "img", "input", "ins", "kbd", "keygen", "label", "legend", "li", "link", "main", "map", "mark", "menu", "meta", "meter", "nav", "noscript",
+			"object", "ol", "optgroup", "option", "output", "p", "param", "picture", "pre", "progress", "q", "rp", "rt", "ruby", "s", "samp", "script", "section", "select", "small", "source", "span",
+			"strong", "style", "sub", "summary", "sup", "svg", "table", "tbody", "td", "template", "textarea", "tfoot", "th", "thead", "time", "title", "tr", "track", "u", "ul", "var", "video", "wbr",
+			"path", "g", "use", "defs", "symbol", "circle", "rect", "line", "polygon", "polyline", "ellipse", "text", "tspan", "clippath", "mask", "stop",
+			"lineargradient", "radialgradient", "feflood", "feblend", "feoffset", "fegaussianblur", "fecomposite", "fecolormatrix"
+	};
+
+	private static final String[][] TABLE; // 按名称长度分组
+
+	static {
+		var groups = new ArrayList<List<String>>();
+		for (var name : NAMES) {
+			while (groups.size() <= name.length()) groups.add(new ArrayList<>());
+			groups.get(name.length()).add(name);
+		}
+		TABLE = new String[groups.size()][];
+		for (int i = 0; i < TABLE.length; i++) TABLE[i] = groups.get(i).toArray(String[]::new);
+	}
+
+	private TagName() {
+	}
+
+	/**
+	 * 获取指定区间内的标签名称,去除首尾空白并转换为小写
+	 *
+	 * @param node  数据
+	 * @param start 起始位置
+	 * @param end   结束位置
+	 * @return 标签名称
+	 */
+	static String of(@NotNull ParserStringBuilder node, int start, int end) {
+		while (start < end && Character.isWhitespace(node.charAt(start))) start++;
+		while (end > start && Character.isWhitespace(node.charAt(end - 1))) end--;
+		int length = end - start;
+		if (length < TABLE.length) {
+			table:
+			for (var name : TABLE[length]) {
+				for (int i = 0; i < length; i++) {
+					var c = node.charAt(start + i);
+					if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+					if (c != name.charAt(i)) continue table;
+				}
+				return name;
+			}
+		}
+		return node.substring(start, end).toLowerCase();
+	}
+
+	/**
+	 * 判断是否为html自闭合标签,与 {@link Document} 中的处理保持一致
+	 *
+	 * @param name 标签名称
+	 * @return 判断结果
+	 */
+	static boolean isVoid(@NotNull String name) {
+		return switch (name) {
+			case "hr", "br", "input", "meta", "link", "img", "area", "base", "col", "command", "embed", "keygen", "param", "source", "track", "wbr", "feflood", "feblend", "feoffset", "fegaussianblur", "fecomposite", "fecolormatrix", "lineargradient", "radialgradient" -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * 判断是否为html文本标签,标签内容不作为元素解析,与 {@link Document} 中的处理保持一致
+	 *
+	 * @param name 标签名称
+	 * @return 判断结果
+	 */
+	static boolean isRawText(@NotNull String name) {
+		return switch (name) {
+			case "textarea", "script", "style", "noscript" -> true;
+			default -> false;
+		};
+	}
+
+}
@@ -0,0 +1,872 @@
+package org.haic.often.parser.xml;
+
+import org.haic.often.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * XPath 1.0 子集解析方案,表达式编译一次后可对多个节点重复查询
+ * <p>
+ * 支持的语法:
+ * <blockquote>
+ * <pre>	/ // . .. * @name @*				- 路径及缩写</pre>
+ * <pre>	child:: descendant:: descendant-or-self:: self:: parent::</pre>
+ * <pre>	ancestor:: ancestor-or-self:: following-sibling:: preceding-sibling:: attribute::</pre>
+ * <pre>	text() node()					- 节点类型</pre>
+ * <pre>	[1] [last()] [position()<3]		- 位置谓词</pre>
+ * <pre>	[@id='x'] [title] [text()!='x']		- 条件谓词,支持 = != < <= > >= and or + -</pre>
+ * <pre>	|						- 合并多个结果</pre>
+ * <pre>	函数: last position count name local-name string concat contains starts-with ends-with</pre>
+ * <pre>	      substring-before substring-after normalize-space string-length not true false number boolean</pre>
+ * </blockquote>
+ * 例: XPath.compile("//item[category='news']/title/text()").evaluate(doc)
+ * <p>
+ * 如果文档已通过 {@link Document#buildIndex()} 构建标签索引,以根节点开始的 "//name" 查询将直接使用索引
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 10:12
+ */
+public class XPath {
+
+	private final String expression;
+	private final Expr expr;
+
+	private XPath(@NotNull String expression) {
+		this.expression = expression;
+		this.expr = new Parser(expression).parse();
+	}
+
+	/**
+	 * 编译XPath表达式
+	 *
+	 * @param expression XPath表达式
+	 * @return 已编译的XPath
+	 */
+	public static XPath compile(@NotNull String expression) {
+		return new XPath(expression);
+	}
+
+	/**
+	 * 以指定节点为上下文执行查询
+	 * <p>
+	 * 返回值中元素节点类型为 {@link XmlTree},文本节点和属性节点类型为 {@link String},如果表达式结果不为节点集(例: count()),则返回仅包含结果值的数组
+	 *
+	 * @param e 上下文节点
+	 * @return 查询结果
+	 */
+	@NotNull
+	public List<Object> evaluate(@NotNull XmlTree e) {
+		var value = expr.eval(e, 1, 1);
+		if (!(value instanceof List<?> nodes)) return new ArrayList<>(List.of(value));
+		var result = new ArrayList<>(nodes.size());
+		for (var node : nodes) result.add(node instanceof Attr attr ? attr.value() : node instanceof Text text ? text.value() : node instanceof Root root ? root.top() : node);
+		return result;
+	}
+
+	/**
+	 * 以指定节点为上下文执行查询,仅返回元素节点
+	 *
+	 * @param e 上下文节点
+	 * @return 查询结果
+	 */
+	@NotNull
+	public Elements select(@NotNull XmlTree e) {
+		var result = new Elements();
+		for (var node : evaluate(e)) if (node instanceof Element element) result.add(element);
+		return result;
+	}
+
+	/**
+	 * 以指定节点为上下文执行查询,返回第一个元素节点
+	 *
+	 * @param e 上下文节点
+	 * @return 查询结果,不存在时返回null
+	 */
+	public Element selectFirst(@NotNull XmlTree e) {
+		for (var node : evaluate(e)) if (node instanceof Element element) return element;
+		return null;
+	}
+
+	/**
+	 * 以指定节点为上下文执行查询,返回所有结果的字符串值,元素节点取其文本
+	 *
+	 * @param e 上下文节点
+	 * @return 查询结果
+	 */
+	@NotNull
+	public List<String> selectText(@NotNull XmlTree e) {
+		var result = new ArrayList<String>();
+		for (var node : evaluate(e)) result.add(node instanceof XmlTree tree ? tree.text() : toStr(node));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	// ---------------------------------------- 节点 ----------------------------------------
+
+	/**
+	 * 文档根节点,其唯一子节点为最顶层元素
+	 */
+	private record Root(XmlTree top) {}
+
+	/**
+	 * 属性节点
+	 */
+	private record Attr(XmlTree owner, String name, String value) {}
+
+	/**
+	 * 文本节点,记录所在元素和下标用于去重和排序
+	 */
+	private record Text(XmlTree parent, int index, String value) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Text text && text.parent == parent && text.index == index;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(parent) * 31 + index;
+		}
+	}
+
+	/**
+	 * 获取元素的子节点,文本节点包装为 {@link Text}
+	 */
+	private static Object child(@NotNull XmlTree parent, int index) {
+		var child = parent.childs().get(index);
+		return child instanceof XmlTree ? child : new Text(parent, index, String.valueOf(child));
+	}
+
+	private static XmlTree top(@NotNull XmlTree e) {
+		while (e.parent() != null) e = e.parent();
+		return e;
+	}
+
+	private static String stringValue(Object node) {
+		if (node instanceof XmlTree e) return e.text();
+		if (node instanceof Attr attr) return attr.value() == null ? "" : attr.value();
+		if (node instanceof Text text) return text.value();
+		if (node instanceof Root root) return root.top().text();
+		return String.valueOf(node);
+	}
+
+	private static String toStr(Object value) {
+		if (value instanceof List<?> nodes) return nodes.isEmpty() ? "" : stringValue(nodes.get(0));
+		if (value instanceof Double d) return d == Math.rint(d) && !Double.isInfinite(d) ? String.valueOf(d.longValue()) : String.valueOf(d);
+		return String.valueOf(value);
+	}
+
+	private static double toNumber(Object value) {
+		if (value instanceof Double d) return d;
+		if (value instanceof Boolean b) return b ? 1 : 0;
+		try {
+			return Double.parseDouble(toStr(value).strip());
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	private static boolean toBoolean(Object value) {
+		if (value instanceof Boolean b) return b;
+		if (value instanceof Double d) return d != 0 && !d.isNaN();
+		if (value instanceof List<?> nodes) return !nodes.isEmpty();
+		return !String.valueOf(value).isEmpty();
+	}
+
+	// ---------------------------------------- 轴 ----------------------------------------
+
+	private enum Axis {
+		CHILD, DESCENDANT, DESCENDANT_OR_SELF, SELF, PARENT, ANCESTOR, ANCESTOR_OR_SELF, FOLLOWING_SIBLING, PRECEDING_SIBLING, ATTRIBUTE;
+
+		private static Axis of(@NotNull String name) {
+			return switch (name) {
+				case "child" -> CHILD;
+				case "descendant" -> DESCENDANT;
+				case "descendant-or-self" -> DESCENDANT_OR_SELF;
+				case "self" -> SELF;
+				case "parent" -> PARENT;
+				case "ancestor" -> ANCESTOR;
+				case "ancestor-or-self" -> ANCESTOR_OR_SELF;
+				case "following-sibling" -> FOLLOWING_SIBLING;
+				case "preceding-sibling" -> PRECEDING_SIBLING;
+				case "attribute" -> ATTRIBUTE;
+				default -> null;
+			};
+		}
+
+		/**
+		 * 获取上下文节点在当前轴上的所有节点,反向轴以距离上下文节点由近到远排序
+		 */
+		private List<Object> nodes(@NotNull Object ctx) {
+			var result = new ArrayList<>();
+			switch (this) {
+				case CHILD -> {
+					if (ctx instanceof XmlTree e) for (int i = 0; i < e.childs().size(); i++) result.add(child(e, i));
+					else if (ctx instanceof Root root) result.add(root.top());
+				}
+				case DESCENDANT -> descendants(ctx, result);
+				case DESCENDANT_OR_SELF -> {
+					result.add(ctx);
+					descendants(ctx, result);
+				}
+				case SELF -> result.add(ctx);
+				case PARENT -> {
+					var parent = parent(ctx);
+					if (parent != null) result.add(parent);
+				}
+				case ANCESTOR, ANCESTOR_OR_SELF -> {
+					if (this == ANCESTOR_OR_SELF) result.add(ctx);
+					for (var parent = parent(ctx); parent != null; parent = parent(parent)) result.add(parent);
+				}
+				case FOLLOWING_SIBLING, PRECEDING_SIBLING -> {
+					var parent = ctx instanceof Text text ? text.parent() : ctx instanceof XmlTree e ? e.parent() : null;
+					if (parent != null) {
+						int index = 0;
+						if (ctx instanceof Text text) index = text.index();
+						else while (parent.childs().get(index) != ctx) index++;
+						if (this == FOLLOWING_SIBLING) for (int i = index + 1; i < parent.childs().size(); i++) result.add(child(parent, i));
+						else for (int i = index - 1; i >= 0; i--) result.add(child(parent, i));
+					}
+				}
+				case ATTRIBUTE -> {
+					if (ctx instanceof XmlTree e) for (var entry : e.attrsView().entrySet()) result.add(new Attr(e, entry.getKey(), entry.getValue()));
+				}
+			}
+			return result;
+		}
+
+		private boolean isReverse() {
+			return this == ANCESTOR || this == ANCESTOR_OR_SELF || this == PRECEDING_SIBLING || this == PARENT;
+		}
+
+		private static Object parent(@NotNull Object node) {
+			if (node instanceof Attr attr) return attr.owner();
+			if (node instanceof Text text) return text.parent();
+			if (node instanceof XmlTree e) return e.parent() == null ? new Root(e) : e.parent();
+			return null;
+		}
+
+		private static void descendants(@NotNull Object ctx, @NotNull List<Object> result) {
+			var parents = new ArrayList<XmlTree>(); // 当前路径上的元素
+			var indexes = new int[16]; // 各元素下一个子节点的下标
+			if (ctx instanceof Root root) {
+				result.add(root.top());
+				parents.add(root.top());
+			} else if (ctx instanceof XmlTree e) {
+				parents.add(e);
+			}
+			while (!parents.isEmpty()) {
+				int depth = parents.size() - 1;
+				var parent = parents.get(depth);
+				if (indexes[depth] == parent.childs().size()) {
+					parents.remove(depth);
+					continue;
+				}
+				var child = child(parent, indexes[depth]++);
+				result.add(child);
+				if (child instanceof XmlTree e) {
+					if (parents.size() == indexes.length) indexes = Arrays.copyOf(indexes, indexes.length << 1);
+					indexes[parents.size()] = 0;
+					parents.add(e);
+				}
+			}
+		}
+
+	}
+
+	// ---------------------------------------- 表达式 ----------------------------------------
+
+	private interface Expr {
+		Object eval(Object ctx, int position, int size);
+
+		/**
+		 * 判断表达式是否依赖上下文位置,用于判断能否使用索引
+		 */
+		default boolean positional() {
+			return false;
+		}
+	}
+
+	private record Literal(Object value) implements Expr {
+		public Object eval(Object ctx, int position, int size) {
+			return value;
+		}
+
+		public boolean positional() {
+			return value instanceof Double;
+		}
+	}
+
+	/**
+	 * 节点测试,name为null时匹配所有节点,type为text时匹配文本节点,为node时匹配任意节点
+	 */
+	private record NodeTest(String name, String type) {
+		private boolean test(@NotNull Axis axis, Object node) {
+			if ("node".equals(type)) return true;
+			if ("text".equals(type)) return node instanceof Text;
+			if (axis == Axis.ATTRIBUTE) return node instanceof Attr attr && (name == null || name.equals(attr.name()));
+			return node instanceof XmlTree e && (name == null || name.equalsIgnoreCase(e.name()));
+		}
+	}
+
+	private record Step(Axis axis, NodeTest test, List<Expr> predicates) {
+		private List<Object> apply(@NotNull List<Object> contexts) {
+			var result = new ArrayList<>();
+			for (var ctx : contexts) {
+				var nodes = new ArrayList<>();
+				for (var node : axis.nodes(ctx)) if (test.test(axis, node)) nodes.add(node);
+				result.addAll(applyPredicates(nodes, predicates));
+			}
+			if (contexts.size() > 1) return distinct(result);
+			return axis.isReverse() ? reverse(result) : result;
+		}
+
+		private boolean positional() {
+			return predicates.stream().anyMatch(Expr::positional);
+		}
+	}
+
+	private static List<Object> applyPredicates(@NotNull List<Object> nodes, @NotNull List<Expr> predicates) {
+		for (var predicate : predicates) {
+			var result = new ArrayList<>();
+			for (int i = 0; i < nodes.size(); i++) {
+				var value = predicate.eval(nodes.get(i), i + 1, nodes.size());
+				if (value instanceof Double d ? d == i + 1 : toBoolean(value)) result.add(nodes.get(i));
+			}
+			nodes = result;
+		}
+		return nodes;
+	}
+
+	private static List<Object> reverse(@NotNull List<Object> nodes) {
+		var result = new ArrayList<>(nodes);
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * 合并多个上下文的查询结果,去除重复节点并按文档顺序排序
+	 * <p>
+	 * 元素的排序键为从顶层元素到该元素的子节点下标序列,只计算结果节点及其祖先,与文档大小无关
+	 * <p>
+	 * 文本节点的排序键为所在元素的排序键加上其下标,属性节点为所在元素的排序键加上负数序号,位于所在元素之后,子节点之前
+	 */
+	private static List<Object> distinct(@NotNull List<Object> nodes) {
+		var paths = new IdentityHashMap<XmlTree, int[]>(nodes.size());
+		var positions = new IdentityHashMap<XmlTree, Map<XmlTree, Integer>>(); // 子节点较多的父元素 -> 子元素下标
+		var seen = Collections.newSetFromMap(new IdentityHashMap<>(nodes.size()));
+		var others = new HashSet<>(); // 文本、属性和根节点,记录由元素引用组成,按元素引用比较
+		var keyed = new ArrayList<Keyed>(nodes.size());
+		for (var node : nodes) {
+			if (node instanceof XmlTree e ? seen.add(e) : others.add(node)) keyed.add(new Keyed(node, key(node, paths, positions))); // 保持原有顺序,结果通常已基本有序,排序时比较次数接近线性
+		}
+		keyed.sort((a, b) -> Arrays.compare(a.key, b.key));
+		var result = new ArrayList<>(keyed.size());
+		for (var k : keyed) result.add(k.node);
+		return result;
+	}
+
+	private record Keyed(Object node, int[] key) {}
+
+	private static int[] key(@NotNull Object node, @NotNull Map<XmlTree, int[]> paths, @NotNull Map<XmlTree, Map<XmlTree, Integer>> positions) {
+		if (node instanceof XmlTree e) return path(e, paths, positions);
+		if (node instanceof Text text) return append(path(text.parent(), paths, positions), text.index());
+		if (node instanceof Attr attr) {
+			int ordinal = 0;
+			for (var name : attr.owner().attrsView().keySet()) {
+				if (name.equals(attr.name())) break;
+				ordinal++;
+			}
+			return append(path(attr.owner(), paths, positions), Integer.MIN_VALUE + ordinal);
+		}
+		return new int[0]; // 根节点位于所有元素之前
+	}
+
+	private static int[] append(int[] path, int index) {
+		path = Arrays.copyOf(path, path.length + 1);
+		path[path.length - 1] = index;
+		return path;
+	}
+
+	/**
+	 * 计算元素及其祖先在文档中的位置,祖先元素的位置为其前缀,已计算的祖先直接使用缓存
+	 */
+	private static int[] path(@NotNull XmlTree e, @NotNull Map<XmlTree, int[]> paths, @NotNull Map<XmlTree, Map<XmlTree, Integer>> positions) {
+		var chain = new ArrayList<XmlTree>();
+		int[] path = null;
+		for (var node = e; node != null && (path = paths.get(node)) == null; node = node.parent()) chain.add(node);
+		for (int i = chain.size() - 1; i >= 0; i--) {
+			var node = chain.get(i);
+			var parent = node.parent();
+			if (parent == null) {
+				path = new int[]{0}; // 顶层元素,根节点的排序键为空序列
+			} else {
+				var childs = parent.childs();
+				int index = -1;
+				if (childs.size() <= 16) { // 子节点较少时直接查找
+					for (int k = 0; k < childs.size() && index == -1; k++) if (childs.get(k) == node) index = k;
+				} else {
+					index = positions.computeIfAbsent(parent, p -> {
+						var map = new IdentityHashMap<XmlTree, Integer>();
+						for (int k = 0; k < childs.size(); k++) if (childs.get(k) instanceof XmlTree child) map.put(child, k);
+						return map;
+					}).getOrDefault(node, -1);
+				}
+				path = append(path, index);
+			}
+			paths.put(node, path);
+		}
+		return path;
+	}
+
+	private record PathExpr(Expr filter, List<Expr> predicates, boolean absolute, List<Step> steps) implements Expr {
+		@SuppressWarnings("unchecked")
+		public Object eval(Object ctx, int position, int size) {
+			List<Object> nodes;
+			int start = 0;
+			if (filter != null) {
+				var value = filter.eval(ctx, position, size);
+				if (steps.isEmpty() && predicates.isEmpty()) return value;
+				if (!(value instanceof List<?>)) throw new IllegalArgumentException("表达式结果不为节点集,无法继续查询路径");
+				nodes = applyPredicates((List<Object>) value, predicates);
+			} else if (absolute) {
+				var top = ctx instanceof Root root ? root.top() : ctx instanceof Attr attr ? top(attr.owner()) : ctx instanceof XmlTree e ? top(e) : null;
+				if (top == null) return new ArrayList<>();
+				var indexed = indexed(top);
+				if (indexed != null) {
+					nodes = indexed;
+					start = 2;
+				} else {
+					nodes = List.of(new Root(top));
+				}
+			} else {
+				nodes = List.of(ctx);
+			}
+			for (int i = start; i < steps.size() && !nodes.isEmpty(); i++) nodes = steps.get(i).apply(nodes);
+			return nodes;
+		}
+
+		/**
+		 * 以 "//name" 开头的查询,如果文档存在标签索引,直接从索引获取结果
+		 */
+		private List<Object> indexed(@NotNull XmlTree top) {
+			if (!(top instanceof Document doc) || !doc.isIndexed() || steps.size() < 2) return null;
+			var first = steps.get(0);
+			var second = steps.get(1);
+			if (first.axis() != Axis.DESCENDANT_OR_SELF || !"node".equals(first.test().type()) || !first.predicates().isEmpty()) return null;
+			if (second.axis() != Axis.CHILD || second.test().type() != null || second.test().name() == null || second.positional()) return null;
+			return applyPredicates(new ArrayList<>(doc.elementsByTag(second.test().name())), second.predicates());
+		}
+
+		public boolean positional() {
+			return false;
+		}
+	}
+
+	private record Union(List<Expr> paths) implements Expr {
+		public Object eval(Object ctx, int position, int size) {
+			var nodes = new ArrayList<>();
+			for (var path : paths) {
+				var value = path.eval(ctx, position, size);
+				if (!(value instanceof List<?> list)) throw new IllegalArgumentException("'|' 两侧必须为节点集");
+				nodes.addAll(list);
+			}
+			return distinct(nodes);
+		}
+	}
+
+	private record Negate(Expr expr) implements Expr {
+		public Object eval(Object ctx, int position, int size) {
+			return -toNumber(expr.eval(ctx, position, size));
+		}
+
+		public boolean positional() {
+			return true;
+		}
+	}
+
+	private record Binary(String op, Expr left, Expr right) implements Expr {
+		public Object eval(Object ctx, int position, int size) {
+			switch (op) {
+				case "or" -> {
+					return toBoolean(left.eval(ctx, position, size)) || toBoolean(right.eval(ctx, position, size));
+				}
+				case "and" -> {
+					return toBoolean(left.eval(ctx, position, size)) && toBoolean(right.eval(ctx, position, size));
+				}
+				case "+" -> {
+					return toNumber(left.eval(ctx, position, size)) + toNumber(right.eval(ctx, position, size));
+				}
+				case "-" -> {
+					return toNumber(left.eval(ctx, position, size)) - toNumber(right.eval(ctx, position, size));
+				}
+				default -> {
+					return compare(left.eval(ctx, position, size), right.eval(ctx, position, size));
+				}
+			}
+		}
+
+		private boolean compare(Object a, Object b) {
+			if (a instanceof List<?> nodes) {
+				for (var node : nodes) if (compare(stringValue(node), b)) return true;
+				return false;
+			}
+			if (b instanceof List<?> nodes) {
+				for (var node : nodes) if (compare(a, stringValue(node))) return true;
+				return false;
+			}
+			if (op.equals("=") || op.equals("!=")) {
+				boolean equals;
+				if (a instanceof Boolean || b instanceof Boolean) equals = toBoolean(a) == toBoolean(b);
+				else if (a instanceof Double || b instanceof Double) equals = toNumber(a) == toNumber(b);
+				else equals = toStr(a).equals(toStr(b));
+				return op.equals("=") == equals;
+			}
+			double x = toNumber(a), y = toNumber(b);
+			return switch (op) {
+				case "<" -> x < y;
+				case "<=" -> x <= y;
+				case ">" -> x > y;
+				default -> x >= y;
+			};
+		}
+
+		public boolean positional() {
+			return switch (op) {
+				case "+", "-" -> true;
+				default -> left.positional() || right.positional();
+			};
+		}
+	}
+
+	private record Function(String name, List<Expr> args) implements Expr {
+		public Object eval(Object ctx, int position, int size) {
+			return switch (name) {
+				case "last" -> (double) size;
+				case "position" -> (double) position;
+				case "count" -> (double) nodes(0, ctx, position, size).size();
+				case "name", "local-name" -> {
+					var nodes = args.isEmpty() ? List.of(ctx) : nodes(0, ctx, position, size);
+					var node = nodes.isEmpty() ? null : nodes.get(0);
+					var qname = node instanceof XmlTree e ? e.name() : node instanceof Attr attr ? attr.name() : "";
+					yield name.equals("local-name") ? qname.substring(qname.indexOf(':') + 1) : qname;
+				}
+				case "string" -> args.isEmpty() ? stringValue(ctx) : toStr(arg(0, ctx, position, size));
+				case "concat" -> {
+					var sb = new StringBuilder();
+					for (int i = 0; i < args.size(); i++) sb.append(toStr(arg(i, ctx, position, size)));
+					yield sb.toString();
+				}
+				case "contains" -> str(0, ctx, position, size).contains(str(1, ctx, position, size));
+				case "starts-with" -> str(0, ctx, position, size).startsWith(str(1, ctx, position, size));
+				case "ends-with" -> str(0, ctx, position, size).endsWith(str(1, ctx, position, size));
+				case "substring-before", "substring-after" -> {
+					var s = str(0, ctx, position, size);
+					var sep = str(1, ctx, position, size);
+					int index = s.indexOf(sep);
+					yield index == -1 ? "" : name.equals("substring-before") ? s.substring(0, index) : s.substring(index + sep.length());
+				}
+				case "normalize-space" -> String.join(" ", (args.isEmpty() ? stringValue(ctx) : str(0, ctx, position, size)).strip().split("\\s+"));
+				case "string-length" -> (double) (args.isEmpty() ? stringValue(ctx) : str(0, ctx, position, size)).length();
+				case "not" -> !toBoolean(arg(0, ctx, position, size));
+				case "boolean" -> toBoolean(arg(0, ctx, position, size));
+				case "number" -> args.isEmpty() ? toNumber(stringValue(ctx)) : toNumber(arg(0, ctx, position, size));
+				case "true" -> true;
+				case "false" -> false;
+				default -> throw new IllegalArgumentException("不支持的函数: " + name + "()");
+			};
+		}
+
+		private Object arg(int i, Object ctx, int position, int size) {
+			if (i >= args.size()) throw new IllegalArgumentException("函数 " + name + "() 参数数量错误");
+			return args.get(i).eval(ctx, position, size);
+		}
+
+		private String str(int i, Object ctx, int position, int size) {
+			return toStr(arg(i, ctx, position, size));
+		}
+
+		private List<?> nodes(int i, Object ctx, int position, int size) {
+			if (arg(i, ctx, position, size) instanceof List<?> nodes) return nodes;
+			throw new IllegalArgumentException("函数 " + name + "() 参数不为节点集");
+		}
+
+		public boolean positional() {
+			return switch (name) {
+				case "last", "position", "count", "number", "string-length" -> true; // 数值结果视为位置
+				default -> args.stream().anyMatch(Expr::positional);
+			};
+		}
+	}
+
+	// ---------------------------------------- 编译 ----------------------------------------
+
+	/**
+	 * 递归下降语法分析器
+	 */
+	private static class Parser {
+
+		private final String s;
+		private int index;
+
+		private Parser(@NotNull String s) {
+			this.s = s;
+		}
+
+		private Expr parse() {
+			var expr = or();
+			skip();
+			if (index < s.length()) throw error("存在未知意义符号 '" + s.charAt(index) + "'");
+			return expr;
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException("XPath表达式 \"" + s + "\" 在索引 " + index + " 处" + message);
+		}
+
+		private void skip() {
+			while (index < s.length() && Character.isWhitespace(s.charAt(index))) index++;
+		}
+
+		private boolean peek(@NotNull String token) {
+			skip();
+			return s.startsWith(token, index);
+		}
+
+		private boolean accept(@NotNull String token) {
+			if (!peek(token)) return false;
+			index += token.length();
+			return true;
+		}
+
+		private void expect(@NotNull String token) {
+			if (!accept(token)) throw error("期望值不为 '" + token + "'");
+		}
+
+		/**
+		 * 匹配运算符名称(and,or),名称后不能紧跟名称字符
+		 */
+		private boolean acceptWord(@NotNull String word) {
+			if (!peek(word)) return false;
+			int end = index + word.length();
+			if (end < s.length() && isNameChar(s.charAt(end))) return false;
+			index = end;
+			return true;
+		}
+
+		private static boolean isNameStart(char c) {
+			return Character.isLetter(c) || c == '_';
+		}
+
+		private static boolean isNameChar(char c) {
+			return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+		}
+
+		private String name() {
+			skip();
+			int start = index;
+			if (index >= s.length() || !isNameStart(s.charAt(index))) throw error("期望值不为名称");
+			while (index < s.length()) {
+				char c = s.charAt(index);
+				if (isNameChar(c) || (c == ':' && index + 1 < s.length() && s.charAt(index + 1) != ':' && isNameStart(s.charAt(index + 1)))) index++;
+				else break;
+			}
+			return s.substring(start, index);
+		}
+
+		private Expr or() {
+			var expr = and();
+			while (acceptWord("or")) expr = new Binary("or", expr, and());
+			return expr;
+		}
+
+		private Expr and() {
+			var expr = equality();
+			while (acceptWord("and")) expr = new Binary("and", expr, equality());
+			return expr;
+		}
+
+		private Expr equality() {
+			var expr = relational();
+			while (true) {
+				if (accept("!=")) expr = new Binary("!=", expr, relational());
+				else if (accept("=")) expr = new Binary("=", expr, relational());
+				else return expr;
+			}
+		}
+
+		private Expr relational() {
+			var expr = additive();
+			while (true) {
+				if (accept("<=")) expr = new Binary("<=", expr, additive());
+				else if (accept(">=")) expr = new Binary(">=", expr, additive());
+				else if (accept("<")) expr = new Binary("<", expr, additive());
+				else if (accept(">")) expr = new Binary(">", expr, additive());
+				else return expr;
+			}
+		}
+
+		private Expr additive() {
+			var expr = unary();
+			while (true) {
+				if (accept("+")) expr = new Binary("+", expr, unary());
+				else if (accept("-")) expr = new Binary("-", expr, unary());
+				else return expr;
+			}
+		}
+
+		private Expr unary() {
+			return accept("-") ? new Negate(unary()) : union();
+		}
+
+		private Expr union() {
+			var expr = path();
+			if (!peek("|")) return expr;
+			var paths = new ArrayList<Expr>();
+			paths.add(expr);
+			while (accept("|")) paths.add(path());
+			return new Union(paths);
+		}
+
+		private Expr path() {
+			skip();
+			if (index >= s.length()) throw error("表达式不完整");
+			char c = s.charAt(index);
+			Expr filter = null;
+			List<Expr> filterPredicates = List.of();
+			var steps = new ArrayList<Step>();
+			boolean absolute = false;
+			if (c == '/') {
+				absolute = true;
+				if (accept("//")) {
+					steps.add(descendantOrSelf());
+					steps.add(step());
+				} else {
+					index++;
+					skip();
+					if (index < s.length() && isStepStart(s.charAt(index))) steps.add(step());
+				}
+			} else if (c == '\'' || c == '"' || Character.isDigit(c) || (c == '.' && index + 1 < s.length() && Character.isDigit(s.charAt(index + 1))) || c == '(' || isFunctionCall()) {
+				filter = primary();
+				filterPredicates = predicates(); // 谓词作用于整个结果集
+				if (filterPredicates.isEmpty() && !peek("/")) return filter;
+			} else {
+				steps.add(step());
+			}
+			while (true) {
+				if (accept("//")) {
+					steps.add(descendantOrSelf());
+					steps.add(step());
+				} else if (accept("/")) {
+					steps.add(step());
+				} else {
+					return new PathExpr(filter, filterPredicates, absolute, steps);
+				}
+			}
+		}
+
+		private boolean isStepStart(char c) {
+			return c == '.' || c == '@' || c == '*' || isNameStart(c);
+		}
+
+		/**
+		 * 判断当前位置是否为函数调用,节点类型测试(text(),node())不视为函数
+		 */
+		private boolean isFunctionCall() {
+			int start = index;
+			try {
+				if (!isNameStart(s.charAt(index))) return false;
+				var name = name();
+				return !name.equals("text") && !name.equals("node") && peek("(");
+			} finally {
+				index = start;
+			}
+		}
+
+		private Step descendantOrSelf() {
+			return new Step(Axis.DESCENDANT_OR_SELF, new NodeTest(null, "node"), List.of());
+		}
+
+		private Step step() {
+			if (accept("..")) return new Step(Axis.PARENT, new NodeTest(null, "node"), List.of());
+			if (accept(".")) return new Step(Axis.SELF, new NodeTest(null, "node"), List.of());
+			var axis = Axis.CHILD;
+			if (accept("@")) {
+				axis = Axis.ATTRIBUTE;
+			} else {
+				int start = index;
+				skip();
+				if (index < s.length() && isNameStart(s.charAt(index))) {
+					var name = name();
+					if (accept("::")) {
+						axis = Axis.of(name);
+						if (axis == null) throw error("不支持的轴: " + name);
+					} else {
+						index = start;
+					}
+				} else {
+					index = start;
+				}
+			}
+			NodeTest test;
+			if (accept("*")) {
+				test = new NodeTest(null, null);
+			} else {
+				var name = name();
+				if (accept("(")) {
+					expect(")");
+					if (!name.equals("text") && !name.equals("node")) throw error("不支持的节点类型: " + name + "()");
+					test = new NodeTest(null, name);
+				} else {
+					test = new NodeTest(axis == Axis.ATTRIBUTE ? name : name.toLowerCase(), null);
+				}
+			}
+			return new Step(axis, test, predicates());
+		}
+
+		private List<Expr> predicates() {
+			var predicates = new ArrayList<Expr>();
+			while (accept("[")) {
+				predicates.add(or());
+				expect("]");
+			}
+			return predicates;
+		}
+
+		private Expr primary() {
+			skip();
+			char c = s.charAt(index);
+			if (c == '\'' || c == '"') {
+				int end = s.indexOf(c, index + 1);
+				if (end == -1) throw error("字符串未封闭");
+				var value = s.substring(index + 1, end);
+				index = end + 1;
+				return new Literal(value);
+			}
+			if (Character.isDigit(c) || c == '.') {
+				int start = index;
+				while (index < s.length() && (Character.isDigit(s.charAt(index)) || s.charAt(index) == '.')) index++;
+				return new Literal(Double.parseDouble(s.substring(start, index)));
+			}
+			if (accept("(")) {
+				var expr = or();
+				expect(")");
+				return expr;
+			}
+			var name = name();
+			expect("(");
+			var args = new ArrayList<Expr>();
+			if (!accept(")")) {
+				do args.add(or()); while (accept(","));
+				expect(")");
+			}
+			return new Function(name, args);
+		}
+
+	}
+
+}
@@ -30,7 +30,10 @@ public class XmlChilds extends ArrayList<Object> {
 
 	public String toString(int depth) {
 		var sb = new StringBuilder();
-		for (var child : this) sb.append("\n").append(child instanceof XmlTree e ? e.toString(depth) : "    ".repeat(depth) + child);
+		for (var child : this) {
+			if (child instanceof XmlTree e) XmlTree.write(sb.append('\n'), e, depth);
+			else XmlTree.indent(sb.append('\n'), depth).append(child);
+		}
 		return sb.toString();
 	}
 
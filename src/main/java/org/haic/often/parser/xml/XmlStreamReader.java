@@ -0,0 +1,258 @@
+package org.haic.often.parser.xml;
+
+import org.haic.often.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 流式xml记录读取器,用于读取超大的sitemap,rss等文件
+ * <p>
+ * 从流中逐个读取指定名称的重复记录元素(例: sitemap中的 url, rss中的 item),每条记录单独解析为 {@link Element},记录以外的内容直接跳过,内存中同一时间只持有一条记录
+ * <p>
+ * 使用方法: XmlStreamReader.of(in, "url").read(e -> ...)
+ *
+ * @author haicdust
+ * @version 1.0
+ * @since 2026/10/19 10:12
+ */
+public class XmlStreamReader implements Iterator<Element>, Closeable {
+
+	private static final int DEFAULT_BUFFER_SIZE = 8192; // 缓冲区大小
+
+	private final Reader reader;
+	private final String record; // 记录元素名称
+	private final char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+	private final StringBuilder body = new StringBuilder(); // 当前记录的原始文本
+	private int pos;
+	private int limit;
+	private long index; // 已读取字符数,用于异常定位
+	private boolean capture; // 是否写入当前记录
+	private int term; // 标签名称后的首个字符
+	private Element next;
+
+	private XmlStreamReader(@NotNull Reader reader, @NotNull String record) {
+		this.reader = reader;
+		this.record = record.strip().toLowerCase();
+		if (this.record.isEmpty()) throw new IllegalArgumentException("记录元素名称为空");
+	}
+
+	/**
+	 * 以UTF-8编码从输入流中读取记录
+	 *
+	 * @param in     输入流
+	 * @param record 记录元素名称
+	 * @return 读取器
+	 */
+	public static XmlStreamReader of(@NotNull InputStream in, @NotNull String record) {
+		return of(in, StandardCharsets.UTF_8, record);
+	}
+
+	/**
+	 * 以指定编码从输入流中读取记录
+	 *
+	 * @param in      输入流
+	 * @param charset 字符集编码格式
+	 * @param record  记录元素名称
+	 * @return 读取器
+	 */
+	public static XmlStreamReader of(@NotNull InputStream in, @NotNull Charset charset, @NotNull String record) {
+		return of(new InputStreamReader(in, charset), record);
+	}
+
+	/**
+	 * 从字符流中读取记录
+	 *
+	 * @param reader 字符流
+	 * @param record 记录元素名称
+	 * @return 读取器
+	 */
+	public static XmlStreamReader of(@NotNull Reader reader, @NotNull String record) {
+		return new XmlStreamReader(reader, record);
+	}
+
+	/**
+	 * 依次读取所有剩余记录并交由处理函数,记录在处理后即被丢弃,读取结束后关闭流
+	 *
+	 * @param action 处理函数
+	 * @return 读取的记录数量
+	 */
+	public long read(@NotNull Consumer<Element> action) {
+		long count = 0;
+		try (this) {
+			while (hasNext()) {
+				action.accept(next());
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 获取剩余记录的流,流关闭时将关闭读取器
+	 *
+	 * @return 记录流
+	 */
+	public Stream<Element> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+	}
+
+	public boolean hasNext() {
+		if (next != null) return true;
+		String s;
+		try {
+			s = nextRecord();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (s == null) return false;
+		next = Document.parse(s, false);
+		return true;
+	}
+
+	public Element next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		var e = next;
+		next = null;
+		return e;
+	}
+
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 读取下一条记录的原始文本
+	 *
+	 * @return 记录文本,如果已读取结束则返回null
+	 */
+	private String nextRecord() throws IOException {
+		body.setLength(0);
+		capture = false;
+		int depth = 0; // 同名记录嵌套深度
+		for (int c = read(); c != -1; c = read()) {
+			if (c != '<') continue;
+			switch (c = read()) {
+				case '!' -> {
+					c = read();
+					if (c == '-') skipUntil("-->"); // 注释
+					else if (c == '[') skipUntil("]]>"); // CDATA
+					else skipUntil(">"); // 文档类型
+				}
+				case '?' -> skipUntil("?>"); // 处理指令
+				case '/' -> { // 结束标签
+					if (depth == 0) {
+						skipUntil(">");
+					} else {
+						var match = matchName(read());
+						if (term != '>') skipUntil(">");
+						if (match && --depth == 0) return body.toString();
+					}
+				}
+				case -1 -> {
+				}
+				default -> { // 起始标签
+					if (depth == 0) { // 可能为记录起始位置
+						body.append('<').append((char) c);
+						capture = true;
+					}
+					var match = matchName(c);
+					var isClose = skipTag(term);
+					if (match && isClose && depth == 0) return body.toString();
+					if (match && !isClose) depth++;
+					if (depth == 0) {
+						body.setLength(0);
+						capture = false;
+					}
+				}
+			}
+		}
+		if (depth > 0) throw new IllegalStateException("在索引 " + index + " 处数据意外结束,记录 <" + record + "> 未闭合");
+		return null;
+	}
+
+	/**
+	 * 读取一个字符,如果处于记录中,将写入记录文本
+	 *
+	 * @return 字符,如果已读取结束则返回-1
+	 */
+	private int read() throws IOException {
+		if (pos == limit) {
+			limit = reader.read(buffer, 0, buffer.length);
+			pos = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		var c = buffer[pos++];
+		index++;
+		if (capture) body.append(c);
+		return c;
+	}
+
+	/**
+	 * 读取标签名称并判断是否为记录元素名称,名称后的首个字符保存在 term 中
+	 *
+	 * @param c 名称首个字符
+	 * @return 判断结果
+	 */
+	private boolean matchName(int c) throws IOException {
+		var match = true;
+		int i = 0;
+		for (; c != -1 && c != '/' && c != '>' && !Character.isWhitespace(c); c = read()) {
+			if (match && i < record.length() && Character.toLowerCase((char) c) == record.charAt(i)) i++;
+			else match = false;
+		}
+		term = c;
+		return match && i == record.length();
+	}
+
+	/**
+	 * 跳过标签剩余部分直至 '>',属性值中的 '>' 不作为结束
+	 *
+	 * @param c 当前字符
+	 * @return 是否为自闭合标签
+	 */
+	private boolean skipTag(int c) throws IOException {
+		int last = c;
+		for (char quote = 0; c != -1 && (c != '>' || quote != 0); c = read()) {
+			if (quote != 0) {
+				if (c == quote) quote = 0;
+			} else if (c == '"' || c == '\'') {
+				quote = (char) c;
+			} else if (!Character.isWhitespace(c)) {
+				last = c;
+			}
+		}
+		return c != -1 && last == '/';
+	}
+
+	/**
+	 * 跳过数据直至指定结束符(包含结束符)
+	 *
+	 * @param end 结束符
+	 */
+	private void skipUntil(@NotNull String end) throws IOException {
+		for (int matched = 0, c; matched < end.length(); ) {
+			if ((c = read()) == -1) return;
+			if (c == end.charAt(matched)) matched++;
+			else if (matched > 1 && c == end.charAt(0) && end.charAt(matched - 1) == c) continue; // 重复前缀,例: "--->"
+			else matched = c == end.charAt(0) ? 1 : 0;
+		}
+	}
+
+}
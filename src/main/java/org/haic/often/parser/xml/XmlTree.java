@@ -5,9 +5,10 @@ import org.haic.often.parser.ParserStringBuilder;
 import org.haic.often.parser.json.JSONObject;
 import org.haic.often.util.StringUtil;
 
+import java.util.ArrayDeque;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * XML树状结构
@@ -18,7 +19,7 @@ import java.util.stream.Collectors;
  */
 public class XmlTree extends Tag {
 
-	private final XmlTree parent; // 父节点
+	private XmlTree parent; // 父节点
 
 	private final XmlChilds childs = new XmlChilds();
 
@@ -100,6 +101,15 @@ public class XmlTree extends Tag {
 		return parent;
 	}
 
+	/**
+	 * 设置当前节点的父节点,用于将独立解析的片段替换到树中
+	 *
+	 * @param parent 父节点
+	 */
+	void parent(XmlTree parent) {
+		this.parent = parent;
+	}
+
 	/**
 	 * 获取当前节点的所有子元素
 	 *
@@ -125,7 +135,24 @@ public class XmlTree extends Tag {
 	 * @return 所有文本内容
 	 */
 	public String text() {
-		return childs().stream().map(l -> l instanceof XmlTree e ? e.text() : l.toString()).filter(l -> !l.isEmpty()).collect(Collectors.joining(" "));
+		var sb = new StringBuilder();
+		var stack = new ArrayDeque<Iterator<Object>>();
+		stack.push(childs.iterator());
+		while (!stack.isEmpty()) {
+			var iterator = stack.peek();
+			if (!iterator.hasNext()) {
+				stack.pop();
+				continue;
+			}
+			var child = iterator.next();
+			if (child instanceof XmlTree e) {
+				stack.push(e.childs.iterator());
+			} else {
+				var text = child.toString();
+				if (!text.isEmpty()) (sb.isEmpty() ? sb : sb.append(' ')).append(text);
+			}
+		}
+		return sb.toString();
 	}
 
 	/**
@@ -179,7 +206,7 @@ public class XmlTree extends Tag {
 	 * @return 当前节点的属性是否为空
 	 */
 	public boolean attrIsEmpty() {
-		return attrs().isEmpty();
+		return attrsView().isEmpty();
 	}
 
 	/**
@@ -206,29 +233,79 @@ public class XmlTree extends Tag {
 	}
 
 	public String toString(int depth) {
-		var sb = new StringBuilder().append("    ".repeat(depth)).append(super.toString());
-		switch (this.name()) {
+		return write(new StringBuilder(), this, depth).toString();
+	}
+
+	/**
+	 * 以指定深度将节点格式化写入缓冲区,使用栈保存遍历位置,不会因嵌套过深导致栈溢出
+	 *
+	 * @param sb    缓冲区
+	 * @param root  节点
+	 * @param depth 深度
+	 * @return 缓冲区
+	 */
+	static StringBuilder write(@NotNull StringBuilder sb, @NotNull XmlTree root, int depth) {
+		var stack = new ArrayDeque<Frame>();
+		if (writeHead(sb, root, depth)) stack.push(new Frame(root, depth, root.childs.iterator()));
+		while (!stack.isEmpty()) {
+			var frame = stack.peek();
+			if (frame.childs().hasNext()) {
+				var child = frame.childs().next();
+				sb.append('\n');
+				if (child instanceof XmlTree e) {
+					if (writeHead(sb, e, frame.depth() + 1)) stack.push(new Frame(e, frame.depth() + 1, e.childs.iterator()));
+				} else {
+					indent(sb, frame.depth() + 1).append(child);
+				}
+			} else {
+				stack.pop();
+				indent(sb.append('\n'), frame.depth()).append("</").append(frame.node().name()).append('>');
+			}
+		}
+		return sb;
+	}
+
+	/**
+	 * 写入节点标签,如果需要继续写入子节点返回true,否则写入完整节点后返回false
+	 *
+	 * @param sb    缓冲区
+	 * @param e     节点
+	 * @param depth 深度
+	 * @return 是否需要写入子节点
+	 */
+	private static boolean writeHead(@NotNull StringBuilder sb, @NotNull XmlTree e, int depth) {
+		e.appendTag(indent(sb, depth));
+		var childs = e.childs;
+		switch (e.name()) {
 			case "script", "style" -> {
-				if (!childs.isEmpty()) sb.append("\n").append("    ".repeat(depth)).append(childs.get(0)).append("\n").append("    ".repeat(depth));
+				if (!childs.isEmpty()) indent(indent(sb.append('\n'), depth).append(childs.get(0)).append('\n'), depth);
 			}
 			case "textarea", "noscript" -> {
 				if (!childs.isEmpty()) {
 					var text = (String) childs.get(0);
-					sb.append("\n").append("    ".repeat(depth + 1));
+					indent(sb.append('\n'), depth + 1);
 					if (text.startsWith("\"") && text.endsWith("\"")) sb.append(text);
 					else sb.append('"').append(StringUtil.toEscape(text)).append('"');
-					sb.append("\n").append("    ".repeat(depth));
+					indent(sb.append('\n'), depth);
 				}
 			}
 			default -> {
-				if (isClose()) return sb.toString();
+				if (e.isClose()) return false;
 				if (!childs.isEmpty()) {
 					if (childs.size() == 1 && childs.get(0) instanceof String s) sb.append(s);
-					else sb.append(childs.toString(depth + 1)).append("\n").append("    ".repeat(depth));
+					else return true;
 				}
 			}
 		}
-		return sb.append("</").append(this.name()).append(">").toString();
+		sb.append("</").append(e.name()).append('>');
+		return false;
 	}
 
+	static StringBuilder indent(@NotNull StringBuilder sb, int depth) {
+		for (int i = 0; i < depth; i++) sb.append("    ");
+		return sb;
+	}
+
+	private record Frame(XmlTree node, int depth, Iterator<Object> childs) {}
+
 }
@@ -5,6 +5,8 @@ import org.haic.often.parser.json.JSON;
 import org.haic.often.parser.json.JSONArray;
 import org.haic.often.parser.json.JSONObject;
 import org.haic.often.parser.xml.Document;
+import org.haic.often.parser.xml.Element;
+import org.haic.often.parser.xml.XmlStreamReader;
 
 import java.io.*;
 import java.nio.ByteBuffer;
@@ -15,6 +17,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -458,6 +461,23 @@ public class ReadWriteUtil {
 		return str.isEmpty() ? null : Document.parse(str);
 	}
 
+	/**
+	 * 流式读取指定文件中的xml记录元素,每条记录处理后即被丢弃,适用于超大的sitemap,rss等文件
+	 *
+	 * @param record 记录元素名称,例: url, item
+	 * @param action 处理函数
+	 * @return 读取的记录数量
+	 */
+	public long readXML(@NotNull String record, @NotNull Consumer<Element> action) {
+		long result = 0;
+		try (InputStream in = new FileInputStream(source)) {
+			result = XmlStreamReader.of(new BufferedInputStream(in, DEFAULT_BUFFER_SIZE), charset, record).read(action);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return result;
+	}
+
 	/**
 	 * 读取指定文件的内容
 	 *
@@ -2,9 +2,10 @@ package org.haic.often.util;
 
 import org.haic.often.annotations.NotNull;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
 
 /**
  * 多线程 工具类
@@ -15,6 +16,119 @@ import java.util.concurrent.TimeUnit;
  */
 public class ThreadUtil {
 
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = virtualThreadFactory(); // 不支持虚拟线程时为null
+	private static volatile boolean virtualThreads; // 下载线程池默认是否使用虚拟线程
+
+	/**
+	 * 设置下载线程池默认是否使用虚拟线程,默认为false,不影响 {@link #start(Runnable)}
+	 * <p>
+	 * 虚拟线程在阻塞时不占用系统线程,适合大量等待网络数据的下载任务,运行环境不支持时仍使用普通线程
+	 * <p>
+	 * 注意: 虚拟线程均为守护线程,不会阻止JVM退出
+	 *
+	 * @param enable 是否使用虚拟线程
+	 */
+	public static void virtualThreads(boolean enable) {
+		virtualThreads = enable;
+	}
+
+	/**
+	 * 获取默认是否使用虚拟线程
+	 *
+	 * @return 判断结果
+	 */
+	public static boolean virtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * 判断运行环境是否支持虚拟线程(Java 21+,或 Java 19/20 启用预览功能)
+	 *
+	 * @return 判断结果
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VIRTUAL_THREAD_FACTORY != null;
+	}
+
+	/**
+	 * 获取线程工厂
+	 *
+	 * @param virtual 是否使用虚拟线程,运行环境不支持时使用普通线程
+	 * @return 线程工厂
+	 */
+	public static ThreadFactory threadFactory(boolean virtual) {
+		return virtual && VIRTUAL_THREAD_FACTORY != null ? VIRTUAL_THREAD_FACTORY : Executors.defaultThreadFactory();
+	}
+
+	/**
+	 * 创建固定线程数量的线程池,线程数量同时限制并发任务数量
+	 *
+	 * @param nThreads 线程数量
+	 * @param virtual  是否使用虚拟线程
+	 * @return 线程池
+	 */
+	public static ExecutorService newFixedThreadPool(int nThreads, boolean virtual) {
+		return Executors.newFixedThreadPool(nThreads, threadFactory(virtual));
+	}
+
+	/**
+	 * 创建限制并发任务数量的线程池
+	 * <p>
+	 * 使用虚拟线程时为每个任务启动一个虚拟线程,任务在虚拟线程中通过信号量等待执行,不再复用固定数量的线程;否则为固定线程数量的线程池
+	 * <p>
+	 * 两种方式下 shutdownNow() 均会中断正在执行和等待执行的任务
+	 *
+	 * @param permits 最大并发任务数量
+	 * @param virtual 是否使用虚拟线程,运行环境不支持时使用普通线程
+	 * @return 线程池
+	 */
+	public static ExecutorService newBoundedExecutor(int permits, boolean virtual) {
+		if (permits < 1) throw new IllegalArgumentException("并发数量必须大于0: " + permits);
+		if (!virtual || VIRTUAL_THREAD_FACTORY == null) return newFixedThreadPool(permits, false);
+		ExecutorService executor;
+		try { // Java 19/20 中为预览API,通过反射调用
+			executor = (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, VIRTUAL_THREAD_FACTORY);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			executor = Executors.newCachedThreadPool(VIRTUAL_THREAD_FACTORY);
+		}
+		return new BoundedExecutor(executor, new Semaphore(permits, true)); // 公平信号量,按提交顺序执行
+	}
+
+	/**
+	 * 创建为每个任务启动一个虚拟线程的线程池,适合大量阻塞的网络请求
+	 * <p>
+	 * 运行环境不支持虚拟线程(Java 19/20 未启用预览功能)时,使用可缓存的守护线程池
+	 *
+	 * @return 线程池
+	 */
+	public static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Executors.newCachedThreadPool(runnable -> {
+				var thread = new Thread(runnable);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * 通过反射获取虚拟线程工厂,以兼容未启用预览功能的 Java 19/20
+	 *
+	 * @return 线程工厂,不支持时返回null
+	 */
+	private static ThreadFactory virtualThreadFactory() {
+		try {
+			var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			var factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+			factory.newThread(() -> {}); // 未启用预览功能时抛出异常
+			return factory;
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			return null;
+		}
+	}
+
 	/**
 	 * 关闭线程池,并等待结束
 	 *
@@ -71,7 +185,7 @@ public class ThreadUtil {
 	}
 
 	/**
-	 * 新建并启动线程
+	 * 新建并启动普通线程
 	 *
 	 * @param runnable 线程实参
 	 * @return 新建的线程
@@ -82,6 +196,19 @@ public class ThreadUtil {
 		return thread;
 	}
 
+	/**
+	 * 新建并启动线程,虚拟线程为守护线程
+	 *
+	 * @param runnable 线程实参
+	 * @param virtual  是否使用虚拟线程
+	 * @return 新建的线程
+	 */
+	public static Thread start(Runnable runnable, boolean virtual) {
+		Thread thread = threadFactory(virtual).newThread(runnable);
+		thread.start();
+		return thread;
+	}
+
 	/**
 	 * 启动线程,若线程为null则不做处理
 	 *
@@ -100,4 +227,89 @@ public class ThreadUtil {
 		if (thread != null) thread.interrupt();
 	}
 
+	/**
+	 * 每个任务一个线程,通过信号量限制同时执行的任务数量
+	 * <p>
+	 * 等待信号量的任务视为未开始执行,调用 {@link #shutdownNow()} 时返回这些任务
+	 */
+	private static class BoundedExecutor extends AbstractExecutorService {
+
+		private final ExecutorService executor;
+		private final Semaphore semaphore;
+		private final Set<Task> pending = ConcurrentHashMap.newKeySet(); // 尚未开始执行的任务
+
+		private BoundedExecutor(ExecutorService executor, Semaphore semaphore) {
+			this.executor = executor;
+			this.semaphore = semaphore;
+		}
+
+		@Override
+		public void execute(@NotNull Runnable command) {
+			var task = new Task(command);
+			pending.add(task);
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				pending.remove(task);
+				throw e;
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			executor.shutdown();
+		}
+
+		@NotNull
+		@Override
+		public List<Runnable> shutdownNow() {
+			executor.shutdownNow();
+			var tasks = new ArrayList<Runnable>();
+			for (var task : pending) {
+				if (pending.remove(task)) tasks.add(task.command); // 与任务线程竞争,移除成功的任务不会再执行
+			}
+			return tasks;
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return executor.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return executor.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+			return executor.awaitTermination(timeout, unit);
+		}
+
+		private class Task implements Runnable {
+
+			private final Runnable command;
+
+			private Task(Runnable command) {
+				this.command = command;
+			}
+
+			@Override
+			public void run() {
+				try {
+					semaphore.acquire();
+				} catch (InterruptedException e) { // 线程池已关闭,任务由 shutdownNow 返回
+					return;
+				}
+				try {
+					if (pending.remove(this)) command.run(); // 移除失败时任务已由 shutdownNow 返回
+				} finally {
+					semaphore.release();
+				}
+			}
+
+		}
+
+	}
+
 }